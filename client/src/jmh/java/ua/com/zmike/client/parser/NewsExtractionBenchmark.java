@@ -0,0 +1,65 @@
+package ua.com.zmike.client.parser;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ua.com.zmike.client.dto.NewsDTO;
+
+/**
+ * Compares the extraction of an already fetched article page by the {@link NewsExtractor} with the former
+ * extraction through {@code Elements.text()}. Run with the gc profiler to compare the bytes allocated per article:
+ * ./gradlew :client:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NewsExtractionBenchmark {
+
+	private static final String HEADLINE_SELECTOR = ".article-header__title.is-accent";
+	private static final String DESCRIPTION_SELECTOR = ".article-header__caption";
+	private static final String PUBLICATION_TIME_SELECTOR = ".article-header__date";
+
+	private final NewsExtractor extractor =
+			new NewsExtractor(HEADLINE_SELECTOR, DESCRIPTION_SELECTOR, PUBLICATION_TIME_SELECTOR);
+	private Document article;
+
+	@Setup
+	public void setUp() {
+		var description = "Lorem ipsum dolor sit amet, &nbsp;consectetur adipiscing elit. ".repeat(12);
+		article = Jsoup.parse("""
+				<html><body><article>
+				  <div class="article-header">
+				    <h1 class="article-header__title is-accent">  Headline of the
+				      news&nbsp;article  </h1>
+				    <p class="article-header__caption">%s</p>
+				    <time class="article-header__date" datetime="2024-10-01T12:30:00+03:00">1 October, 12:30</time>
+				  </div>
+				</article></body></html>
+				""".formatted(description));
+	}
+
+	@Benchmark
+	public NewsDTO extractor() {
+		return extractor.extract("https://example.com/news/1", article).toDto();
+	}
+
+	@Benchmark
+	public NewsDTO elementsText() {
+		var headline = article.select(HEADLINE_SELECTOR).text();
+		var description = article.select(DESCRIPTION_SELECTOR).text();
+		var publicationTimeText = article.select(PUBLICATION_TIME_SELECTOR).attr("datetime");
+		return NewsDTO.builder()
+				.headline(headline)
+				.description(description)
+				.publicationTime(OffsetDateTime.parse(publicationTimeText).toLocalDateTime())
+				.build();
+	}
+}
@@ -1,5 +1,6 @@
 package ua.com.zmike.client;
 
+import java.lang.management.ManagementFactory;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
@@ -18,9 +19,18 @@ public class JavaFxApplication extends Application {
 	@Override
 	public void init() {
 		var args = getParameters().getRaw().toArray(new String[0]);
-		var builder = new SpringApplicationBuilder();
+		var builder = createApplicationBuilder();
 		builder.headless(false);
-		this.applicationContext = builder.sources(ClientSpringApplication.class).run(args);
+		this.applicationContext = builder.run(args);
+	}
+
+	/**
+	 * Creates the builder of the Spring context behind the UI, overridden to run the UI in another context.
+	 *
+	 * @return the builder with the sources of the context.
+	 */
+	protected SpringApplicationBuilder createApplicationBuilder() {
+		return new SpringApplicationBuilder().sources(ClientSpringApplication.class);
 	}
 
 	@Override
@@ -43,6 +53,7 @@ public class JavaFxApplication extends Application {
 		primaryStage.setScene(scene);
 		primaryStage.setTitle("News Viewer");
 		primaryStage.show();
+		log.info("Time to first window: {} ms", ManagementFactory.getRuntimeMXBean().getUptime());
 	}
 
 	@Override
@@ -1,21 +1,55 @@
 package ua.com.zmike.client.config;
 
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
+import ua.com.zmike.common.jackson.EpochMillisModule;
 
 @Configuration
 public class AppConfig {
 
+	private static final String SMILE_FORMAT = "smile";
+	private static final MediaType SMILE_MEDIA_TYPE = new MediaType("application", "x-jackson-smile");
+
+	@Value("${client.news-api.format}")
+	private String newsApiFormat;
+
 	/**
 	 * Creates a {@link RestTemplate} bean that allows for executing HTTP
 	 * requests and interacting with RESTful web services.
+	 * It is built with the {@link RestTemplateBuilder} of Spring Boot, so every request is observed and carries
+	 * the trace context to the server.
+	 * Responses are requested gzip-compressed and decompressed by {@link GzipDecompressingInterceptor}.
+	 * The read-your-writes token of the news API is sent back by {@link ReadYourWritesInterceptor}.
+	 * When the "smile" format is configured, request and response bodies use the Smile binary format
+	 * with epoch millisecond timestamps instead of JSON.
 	 *
+	 * @param restTemplateBuilder the builder configured by Spring Boot.
 	 * @return a new instance of {@link RestTemplate}.
 	 */
 	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
+	public RestTemplate restTemplate(RestTemplateBuilder restTemplateBuilder) {
+		var restTemplate = restTemplateBuilder.build();
+
+		if (SMILE_FORMAT.equalsIgnoreCase(newsApiFormat)) {
+			var smileMapper = Jackson2ObjectMapperBuilder.smile()
+					.modulesToInstall(new EpochMillisModule())
+					.build();
+			restTemplate.getMessageConverters().add(0, new MappingJackson2SmileHttpMessageConverter(smileMapper));
+			restTemplate.getInterceptors().add((request, body, execution) -> {
+				request.getHeaders().setAccept(List.of(SMILE_MEDIA_TYPE));
+				return execution.execute(request, body);
+			});
+		}
+		restTemplate.getInterceptors().add(new GzipDecompressingInterceptor());
+		restTemplate.getInterceptors().add(new ReadYourWritesInterceptor());
+		return restTemplate;
 	}
 
 }
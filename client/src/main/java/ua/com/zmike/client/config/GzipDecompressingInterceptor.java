@@ -0,0 +1,71 @@
+package ua.com.zmike.client.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Requests gzip-compressed responses from the news API and transparently decompresses them,
+ * as the default request factory of {@link org.springframework.web.client.RestTemplate} does not.
+ */
+public class GzipDecompressingInterceptor implements ClientHttpRequestInterceptor {
+
+	private static final String GZIP = "gzip";
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+		var response = execution.execute(request, body);
+
+		if (GZIP.equalsIgnoreCase(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING))) {
+			return new GzipClientHttpResponse(response);
+		}
+		return response;
+	}
+
+	private static class GzipClientHttpResponse implements ClientHttpResponse {
+
+		private final ClientHttpResponse delegate;
+		private final HttpHeaders headers;
+
+		GzipClientHttpResponse(ClientHttpResponse delegate) {
+			this.delegate = delegate;
+			this.headers = new HttpHeaders();
+			this.headers.putAll(delegate.getHeaders());
+			this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+			this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+		}
+
+		@Override
+		public HttpStatusCode getStatusCode() throws IOException {
+			return delegate.getStatusCode();
+		}
+
+		@Override
+		public String getStatusText() throws IOException {
+			return delegate.getStatusText();
+		}
+
+		@Override
+		public HttpHeaders getHeaders() {
+			return headers;
+		}
+
+		@Override
+		public InputStream getBody() throws IOException {
+			return new GZIPInputStream(delegate.getBody());
+		}
+
+		@Override
+		public void close() {
+			delegate.close();
+		}
+	}
+}
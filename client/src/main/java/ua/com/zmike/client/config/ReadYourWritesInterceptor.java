@@ -0,0 +1,39 @@
+package ua.com.zmike.client.config;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Keeps the read-your-writes token the news API returns on writes and sends it with every following request,
+ * so the reads after this client's own writes are answered by the primary database, not a lagging replica.
+ */
+public class ReadYourWritesInterceptor implements ClientHttpRequestInterceptor {
+
+	static final String LAST_WRITE_HEADER = "X-News-Last-Write";
+
+	private final AtomicLong lastWriteMillis = new AtomicLong(Long.MIN_VALUE);
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		var lastWrite = lastWriteMillis.get();
+		if (lastWrite != Long.MIN_VALUE) {
+			request.getHeaders().set(LAST_WRITE_HEADER, Long.toString(lastWrite));
+		}
+		var response = execution.execute(request, body);
+
+		var token = response.getHeaders().getFirst(LAST_WRITE_HEADER);
+		if (token != null) {
+			try {
+				lastWriteMillis.accumulateAndGet(Long.parseLong(token), Math::max);
+			} catch (NumberFormatException e) {
+				// not sent by the news API, ignored
+			}
+		}
+		return response;
+	}
+}
@@ -0,0 +1,39 @@
+package ua.com.zmike.client.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ua.com.zmike.common.tracing.InMemorySpanExporter;
+import ua.com.zmike.common.tracing.JsonLinesSpanExporter;
+
+/**
+ * Configuration of the tracing of the crawl runs and news API calls.
+ * <p>
+ * Spans are recorded by Micrometer Tracing with the OpenTelemetry bridge: every scheduled run is the root of
+ * a trace, with the spans of the parser and of the news API requests under it. The trace context is sent to
+ * the server in the "traceparent" header by the {@link org.springframework.web.client.RestTemplate} built in
+ * {@link AppConfig}. Finished spans are exported by the exporter selected with "client.tracing.exporter":
+ * "file" (JSON lines, see {@link JsonLinesSpanExporter}), "memory" or "none". The exporters are shared with
+ * the server through the common module; the bean name of this configuration differs from the server's, so both
+ * can be registered in one context.
+ */
+@Configuration("clientTracingConfig")
+public class TracingConfig {
+
+	@Bean
+	@ConditionalOnProperty(name = "client.tracing.exporter", havingValue = "file")
+	public JsonLinesSpanExporter jsonLinesSpanExporter(@Value("${client.tracing.file}") Path file,
+													   ObjectMapper objectMapper) throws IOException {
+		return new JsonLinesSpanExporter(file, objectMapper);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "client.tracing.exporter", havingValue = "memory")
+	public InMemorySpanExporter inMemorySpanExporter(@Value("${client.tracing.memory-capacity}") int capacity) {
+		return new InMemorySpanExporter(capacity);
+	}
+}
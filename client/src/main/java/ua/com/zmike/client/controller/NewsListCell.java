@@ -0,0 +1,36 @@
+package ua.com.zmike.client.controller;
+
+import java.time.format.DateTimeFormatter;
+import java.util.function.IntConsumer;
+import javafx.scene.control.ListCell;
+import ua.com.zmike.client.dto.NewsDTO;
+
+/**
+ * Row of the news list. The ListView creates only as many cells as there are visible rows
+ * and reuses them while scrolling, so a cell only shows the publication time and the headline of its current item.
+ * The index of every shown row is reported, which lets the list request the next page before its end is reached.
+ */
+public class NewsListCell extends ListCell<NewsDTO> {
+
+	private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("dd.MM HH:mm");
+
+	private final IntConsumer onRowShown;
+
+	/**
+	 * @param onRowShown called with the index of the row every time the cell shows an item.
+	 */
+	public NewsListCell(IntConsumer onRowShown) {
+		this.onRowShown = onRowShown;
+	}
+
+	@Override
+	protected void updateItem(NewsDTO news, boolean empty) {
+		super.updateItem(news, empty);
+		if (empty || news == null) {
+			setText(null);
+			return;
+		}
+		setText(TIME_FORMATTER.format(news.getPublicationTime()) + "  " + news.getHeadline());
+		onRowShown.accept(getIndex());
+	}
+}
@@ -0,0 +1,216 @@
+package ua.com.zmike.client.controller;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import ua.com.zmike.client.dto.NewsDTO;
+import ua.com.zmike.client.service.NewsApiService;
+
+/**
+ * Bounded queue of the changes made to the shown news, sent to the {@link NewsApiService} in the background
+ * after they have already been applied to the view.
+ * <p>
+ * The changes are sent one at a time, in the order they were made. Changes of a news entry that are still
+ * waiting are coalesced: an edit of a waiting creation or edit is sent with it, since the request is built from
+ * the shown entry when it is sent, and a deletion replaces a waiting edit or cancels a waiting creation.
+ * When a change fails, the waiting changes of the same entry are dropped and the failure handler rolls the entry
+ * back to its state before the failed change, i.e. the last state known to be saved.
+ * <p>
+ * All methods are called on the JavaFX application thread, the handlers are called on it as well.
+ */
+class NewsMutationQueue {
+
+	enum Type {
+		CREATE, UPDATE, DELETE
+	}
+
+	/**
+	 * A change of one news entry.
+	 */
+	static final class Mutation {
+
+		private Type type;
+		private final NewsDTO news;
+		private NewsDTO snapshot;
+
+		private Mutation(Type type, NewsDTO news, NewsDTO snapshot) {
+			this.type = type;
+			this.news = news;
+			this.snapshot = snapshot;
+		}
+
+		Type getType() {
+			return type;
+		}
+
+		/**
+		 * Returns the shown news entry the change has been applied to.
+		 */
+		NewsDTO getNews() {
+			return news;
+		}
+
+		/**
+		 * Returns a copy of the news entry as it was saved before the change, null for a creation.
+		 */
+		NewsDTO getSnapshot() {
+			return snapshot;
+		}
+	}
+
+	private final NewsApiService newsApiService;
+	private final Executor sender;
+	private final Executor uiExecutor;
+	private final int capacity;
+	private final BiConsumer<Mutation, NewsDTO> savedHandler;
+	private final BiConsumer<Mutation, Throwable> failedHandler;
+
+	private final Deque<Mutation> waiting = new ArrayDeque<>();
+	private Mutation inFlight;
+
+	/**
+	 * @param newsApiService the API the changes are sent to.
+	 * @param sender         the executor sending the requests.
+	 * @param uiExecutor     the executor of the JavaFX application thread.
+	 * @param capacity       the maximum number of waiting changes.
+	 * @param savedHandler   called with a saved change and the news entry returned by the API.
+	 * @param failedHandler  called with a failed change and its error, to roll it back.
+	 */
+	NewsMutationQueue(NewsApiService newsApiService, Executor sender, Executor uiExecutor, int capacity,
+					  BiConsumer<Mutation, NewsDTO> savedHandler, BiConsumer<Mutation, Throwable> failedHandler) {
+		this.newsApiService = newsApiService;
+		this.sender = sender;
+		this.uiExecutor = uiExecutor;
+		this.capacity = capacity;
+		this.savedHandler = savedHandler;
+		this.failedHandler = failedHandler;
+	}
+
+	/**
+	 * Checks whether a change of the given news entry can be queued, i.e. it is coalesced with a waiting change
+	 * or the queue is not full. It is checked before the change is applied to the view.
+	 */
+	boolean accepts(NewsDTO news) {
+		return findWaiting(news) != null || waiting.size() < capacity;
+	}
+
+	/**
+	 * Checks whether a change of the given news entry is waiting or being sent.
+	 */
+	boolean isPending(NewsDTO news) {
+		return findWaiting(news) != null || (inFlight != null && isSameNews(inFlight.news, news));
+	}
+
+	/**
+	 * Returns the number of changes not saved yet.
+	 */
+	int size() {
+		return waiting.size() + (inFlight == null ? 0 : 1);
+	}
+
+	void create(NewsDTO news) {
+		submit(Type.CREATE, news, null);
+	}
+
+	void update(NewsDTO news, NewsDTO snapshot) {
+		submit(Type.UPDATE, news, snapshot);
+	}
+
+	void delete(NewsDTO news, NewsDTO snapshot) {
+		submit(Type.DELETE, news, snapshot);
+	}
+
+	/**
+	 * Copies the fields of a news entry.
+	 */
+	static NewsDTO copyOf(NewsDTO news) {
+		return NewsDTO.builder()
+				.id(news.getId())
+				.headline(news.getHeadline())
+				.description(news.getDescription())
+				.publicationTime(news.getPublicationTime())
+				.version(news.getVersion())
+				.link(news.getLink())
+				.build();
+	}
+
+	private void submit(Type type, NewsDTO news, NewsDTO snapshot) {
+		var waitingMutation = findWaiting(news);
+		if (waitingMutation != null) {
+			if (type == Type.DELETE) {
+				if (waitingMutation.type == Type.CREATE) {
+					waiting.remove(waitingMutation);
+				} else {
+					waitingMutation.type = Type.DELETE;
+				}
+			}
+			return;
+		}
+		if (waiting.size() >= capacity) {
+			throw new IllegalStateException("Too many changes are waiting to be saved");
+		}
+		waiting.addLast(new Mutation(type, news, snapshot));
+		sendNext();
+	}
+
+	private void sendNext() {
+		if (inFlight != null || waiting.isEmpty()) {
+			return;
+		}
+		var mutation = waiting.removeFirst();
+		var request = copyOf(mutation.news);
+		inFlight = mutation;
+		CompletableFuture.supplyAsync(() -> send(mutation.type, request), sender)
+				.whenComplete((saved, error) -> uiExecutor.execute(() -> onSent(mutation, request, saved, error)));
+	}
+
+	private NewsDTO send(Type type, NewsDTO request) {
+		if (type != Type.CREATE && request.getId() == null) {
+			throw new IllegalStateException("The news has been accepted by the server, but not saved yet");
+		}
+		return switch (type) {
+			case CREATE -> newsApiService.createNews(request);
+			case UPDATE -> newsApiService.updateNews(request.getId(), request);
+			case DELETE -> {
+				newsApiService.deleteNews(request.getId());
+				yield null;
+			}
+		};
+	}
+
+	private void onSent(Mutation mutation, NewsDTO request, NewsDTO saved, Throwable error) {
+		inFlight = null;
+		if (error == null) {
+			if (saved != null) {
+				// the waiting changes of the entry now roll back to the state just saved
+				var savedState = copyOf(request);
+				savedState.setId(saved.getId());
+				savedState.setVersion(saved.getVersion());
+				waiting.stream()
+						.filter(waitingMutation -> isSameNews(waitingMutation.news, mutation.news))
+						.forEach(waitingMutation -> waitingMutation.snapshot = savedState);
+			}
+			savedHandler.accept(mutation, saved);
+		} else {
+			waiting.removeIf(waitingMutation -> isSameNews(waitingMutation.news, mutation.news));
+			failedHandler.accept(mutation, error instanceof CompletionException ? error.getCause() : error);
+		}
+		sendNext();
+	}
+
+	private Mutation findWaiting(NewsDTO news) {
+		for (Mutation mutation : waiting) {
+			if (isSameNews(mutation.news, news)) {
+				return mutation;
+			}
+		}
+		return null;
+	}
+
+	private static boolean isSameNews(NewsDTO first, NewsDTO second) {
+		return first == second || (first.getId() != null && first.getId().equals(second.getId()));
+	}
+}
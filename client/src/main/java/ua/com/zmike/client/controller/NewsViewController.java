@@ -1,10 +1,23 @@
 package ua.com.zmike.client.controller;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Comparator;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.scene.control.Alert;
@@ -13,168 +26,497 @@ import javafx.scene.control.ButtonBar;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Dialog;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import ua.com.zmike.client.dto.NewsDTO;
+import ua.com.zmike.client.index.NewsTimeIndex;
 import ua.com.zmike.client.service.NewsApiService;
 
 /**
  * NewsViewController handles the interactions between the JavaFX UI
  * and the news data retrieved from the {@link NewsApiService}.
  * It manages loading, displaying, creating, updating, and deleting news.
+ * News are shown in a virtualized {@link ListView} fed page by page from the API while it is scrolled:
+ * the next page is requested once a row close to the end of the shown news is rendered. The pages are kept
+ * in a {@link NewsTimeIndex}, which answers the period and text filters over the loaded pages, and a custom
+ * range within them, without the API; a filter showing too few news requests further pages the same way.
+ * At most "client.news-view.max-loaded-pages" pages are held, the earliest ones are dropped beyond it, so the
+ * memory held does not grow with the range; they are loaded again when the list is stepped back to its top.
+ * Created, edited and deleted news are changed in the view at once and saved in the background through
+ * a {@link NewsMutationQueue}; a change the API rejects is rolled back.
  */
 @Controller
 @RequiredArgsConstructor
 public class NewsViewController {
 
+	private static final DateTimeFormatter RANGE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+	private static final String TOO_MANY_CHANGES = "Too many changes are still being saved, try again in a moment.";
+	private static final int PREFETCH_ROWS = 20;
+
 	private final NewsApiService newsApiService;
 
+	@Value("${client.news-view.page-size}")
+	private int pageSize;
+
+	@Value("${client.news-view.max-loaded-pages}")
+	private int maxLoadedPages;
+
+	@Value("${client.news-view.description-cache-size}")
+	private int descriptionCacheSize;
+
+	@Value("${client.news-view.max-pending-mutations}")
+	private int maxPendingMutations;
+
 	@FXML
-	private Label headlineLabel;
+	private ListView<NewsDTO> newsListView;
 	@FXML
 	private Label descriptionLabel;
 	@FXML
 	private Label publicationTimeLabel;
-
-	private List<NewsDTO> newsList;
-	private int currentIndex = 0;
+	@FXML
+	private TextField filterField;
+
+	private final ObservableList<NewsDTO> newsList = FXCollections.observableArrayList();
+	private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+		var thread = new Thread(runnable, "news-view-loader");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final ExecutorService mutationSender = Executors.newSingleThreadExecutor(runnable -> {
+		var thread = new Thread(runnable, "news-view-mutations");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private Map<Long, String> descriptions;
+	private NewsMutationQueue mutations;
+
+	private NewsTimeIndex newsIndex;
+	private LocalDateTime filterStart;
+	private LocalDateTime filterEnd;
+	private String filterText = "";
+	private int refresh;
+	private final Deque<LocalDateTime> loadedPageEnds = new ArrayDeque<>();
+	private NewsDTO lastLoaded;
+	private boolean pageLoading;
+	private boolean lastPageLoaded;
+	private boolean earlierPagesDropped;
+	private int lastShownRow = -1;
 
 	/**
-	 * Initializes the controller, loads the news data and displays the first news entry.
+	 * Initializes the controller, binds the news list to the list view and loads the news of yesterday and today.
+	 * The list view renders only the visible rows and the description of the selected news is shown below it.
+	 * Typing in the filter field narrows the shown news to the headlines containing the typed text.
 	 */
 	@FXML
 	public void initialize() {
+		descriptions = new LinkedHashMap<>(descriptionCacheSize, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+				return size() > descriptionCacheSize;
+			}
+		};
+		mutations = new NewsMutationQueue(newsApiService, mutationSender, Platform::runLater, maxPendingMutations,
+				this::onMutationSaved, this::onMutationFailed);
+		newsListView.setItems(newsList);
+		newsListView.setCellFactory(listView -> new NewsListCell(this::onRowShown));
+		newsListView.getSelectionModel().selectedItemProperty()
+				.addListener((observable, previous, selected) -> showNews(selected));
+		filterField.textProperty().addListener((observable, previous, text) -> {
+			filterText = text;
+			applyFilter();
+		});
 		loadAllNews();
-		showCurrentNews();
 	}
 
 	/**
-	 * Loads the news from the {@link NewsApiService} within the past 24 hours.
+	 * Loads the news from the {@link NewsApiService} published from yesterday 00:00 to the end of today
+	 * into the local index and shows all of them.
 	 */
 	private void loadAllNews() {
-		LocalDateTime start = LocalDateTime.now().withHour(0).withMinute(0).minusDays(1);
-		LocalDateTime end = LocalDateTime.now().withHour(23).withMinute(59);
+		LocalDateTime start = LocalDate.now().minusDays(1).atStartOfDay();
+		LocalDateTime end = LocalDate.now().atTime(LocalTime.MAX);
 		loadNewsByDatePeriod(start, end);
 	}
 
 	/**
-	 * Displays the current news based on the current index.
-	 * If the list is empty or the index is out of range, the display will be cleared.
+	 * Displays the selected news.
+	 * The news list holds summaries only, so the description is loaded in the background when the news
+	 * is selected and kept in a bounded cache of recently shown descriptions.
+	 * If no news is selected, the display will be cleared.
+	 *
+	 * @param news the selected news, or null
 	 */
-	private void showCurrentNews() {
-		if (!Objects.isNull(newsList) && !newsList.isEmpty() && currentIndex >= 0 && currentIndex < newsList.size()) {
-			var currentNews = newsList.get(currentIndex);
-			headlineLabel.setText(currentNews.getHeadline());
-			descriptionLabel.setText(currentNews.getDescription());
-			publicationTimeLabel.setText(currentNews.getPublicationTime().toString());
-		} else {
+	private void showNews(NewsDTO news) {
+		if (Objects.isNull(news)) {
 			clearNewsDisplay();
+			return;
 		}
+		publicationTimeLabel.setText(news.getPublicationTime().toString());
+		if (Objects.isNull(news.getId())) {
+			// created here and not saved yet, the entry holds its description
+			descriptionLabel.setText(news.getDescription());
+			return;
+		}
+
+		var description = descriptions.get(news.getId());
+		if (!Objects.isNull(description)) {
+			descriptionLabel.setText(description);
+			return;
+		}
+		descriptionLabel.setText("Loading...");
+		CompletableFuture.supplyAsync(() -> newsApiService.getNewsById(news.getId()), loader)
+				.whenComplete((fullNews, error) -> Platform.runLater(() -> {
+					if (!Objects.isNull(error)) {
+						showErrorAlert("Failed to load news description: " + error.getCause().getMessage());
+						return;
+					}
+					var loadedDescription = takeLoaded(news, fullNews);
+					if (news == newsListView.getSelectionModel().getSelectedItem()) {
+						descriptionLabel.setText(loadedDescription);
+					}
+				}));
+	}
+
+	/**
+	 * Caches the description of a news entry loaded in the background and takes its version, unless the entry
+	 * has been changed since the request was sent: a change of the entry waiting to be saved, or a newer version
+	 * taken from a saved change, is kept instead of the loaded state.
+	 *
+	 * @param news     the shown news entry
+	 * @param fullNews the news entry loaded from the API
+	 * @return the description to show for the entry
+	 */
+	private String takeLoaded(NewsDTO news, NewsDTO fullNews) {
+		var newerVersion = !Objects.isNull(news.getVersion()) && !Objects.isNull(fullNews.getVersion())
+				&& news.getVersion() > fullNews.getVersion();
+		if (mutations.isPending(news) || newerVersion) {
+			return Objects.requireNonNullElse(descriptions.get(news.getId()), fullNews.getDescription());
+		}
+		descriptions.put(news.getId(), fullNews.getDescription());
+		news.setVersion(fullNews.getVersion());
+		return fullNews.getDescription();
 	}
 
 	/**
 	 * Clears the news display fields when no news is available.
 	 */
 	private void clearNewsDisplay() {
-		headlineLabel.setText("No news available");
 		descriptionLabel.setText("No description ");
 		publicationTimeLabel.setText("No time");
 	}
 
 	/**
-	 * Displays the next news entry in the list. If at the last news, shows an alert.
+	 * Selects the next news entry in the list. If at the last news, shows an alert.
 	 */
 	@FXML
 	public void onNextNews() {
-		if (currentIndex < newsList.size() - 1) {
-			currentIndex++;
-			showCurrentNews();
+		var selectionModel = newsListView.getSelectionModel();
+		if (selectionModel.getSelectedIndex() < newsList.size() - 1) {
+			selectionModel.selectNext();
+			newsListView.scrollTo(selectionModel.getSelectedIndex());
+		} else if (!lastPageLoaded) {
+			showInfoAlert("More news are still being loaded.");
 		} else {
 			showInfoAlert("You are already viewing the latest news.");
 		}
 	}
 
 	/**
-	 * Displays the previous news entry in the list. If at the first news, shows an alert.
+	 * Selects the previous news entry in the list. If at the first news, loads the dropped earliest pages again
+	 * or shows an alert.
 	 */
 	@FXML
 	public void onPreviousNews() {
-		if (currentIndex > 0) {
-			currentIndex--;
-			showCurrentNews();
+		var selectionModel = newsListView.getSelectionModel();
+		if (selectionModel.getSelectedIndex() > 0) {
+			selectionModel.selectPrevious();
+			newsListView.scrollTo(selectionModel.getSelectedIndex());
+		} else if (earlierPagesDropped) {
+			reloadFromStart();
 		} else {
 			showInfoAlert("You are already viewing the first news.");
 		}
 	}
 
 	/**
-	 * Loads and displays the news from the night and morning (00:00 to 11:59).
+	 * Shows the loaded news from the night and morning (00:00 to 11:59).
 	 */
 	@FXML
 	public void onMorningNews() {
-		loadNewsByTimePeriod(0, 0, 11, 59);
+		filterByTimePeriod(0, 0, 11, 59);
 	}
 
 	/**
-	 * Loads and displays the news from the afternoon (12:00 to 17:59).
+	 * Shows the loaded news from the afternoon (12:00 to 17:59).
 	 */
 	@FXML
 	public void onDayNews() {
-		loadNewsByTimePeriod(12, 0, 17, 59);
+		filterByTimePeriod(12, 0, 17, 59);
 	}
 
 	/**
-	 * Loads and displays the news from the evening (18:00 to 23:59).
+	 * Shows the loaded news from the evening (18:00 to 23:59).
 	 */
 	@FXML
 	public void onEveningNews() {
-		loadNewsByTimePeriod(18, 0, 23, 59);
+		filterByTimePeriod(18, 0, 23, 59);
+	}
+
+	/**
+	 * Shows all loaded news, removing the time period filter.
+	 */
+	@FXML
+	public void onAllNews() {
+		filterByDatePeriod(newsIndex.getStart(), newsIndex.getEnd());
 	}
 
 	/**
-	 * Loads the news within a specified time period defined by start and end hours and minutes,
-	 * and updates the display with the fetched news.
+	 * Reloads the news of yesterday and today from the API.
+	 */
+	@FXML
+	public void onRefreshNews() {
+		loadAllNews();
+	}
+
+	/**
+	 * Opens a dialog to enter an arbitrary time range and shows the news published within it.
+	 * The range is answered from the loaded pages when it lies within them, otherwise its news are loaded from the API.
+	 */
+	@FXML
+	public void onCustomRange() {
+		Dialog<String[]> dialog = new Dialog<>();
+		dialog.setTitle("Time range");
+		dialog.setHeaderText("Enter the start and end of the time range (yyyy-MM-dd HH:mm):");
+
+		var okButtonType = new ButtonType("Show", ButtonBar.ButtonData.OK_DONE);
+		dialog.getDialogPane().getButtonTypes().addAll(okButtonType, ButtonType.CANCEL);
+
+		var startField = new TextField(RANGE_FORMATTER.format(filterStart));
+		var endField = new TextField(RANGE_FORMATTER.format(filterEnd));
+
+		var grid = new GridPane();
+		grid.setHgap(10);
+		grid.setVgap(10);
+		grid.add(new Label("From:"), 0, 0);
+		grid.add(startField, 1, 0);
+		grid.add(new Label("To:"), 0, 1);
+		grid.add(endField, 1, 1);
+
+		dialog.getDialogPane().setContent(grid);
+
+		dialog.setResultConverter(dialogButton -> {
+			if (dialogButton == okButtonType) {
+				return new String[]{startField.getText().strip(), endField.getText().strip()};
+			}
+			return null;
+		});
+
+		dialog.showAndWait().ifPresent(range -> {
+			LocalDateTime start;
+			LocalDateTime end;
+			try {
+				start = LocalDateTime.parse(range[0], RANGE_FORMATTER);
+				end = LocalDateTime.parse(range[1], RANGE_FORMATTER).plusMinutes(1).minusNanos(1);
+			} catch (DateTimeParseException e) {
+				showWarningAlert("Invalid time: " + e.getParsedString());
+				return;
+			}
+			if (newsIndex.covers(start, end)) {
+				filterByDatePeriod(start, end);
+			} else {
+				loadNewsByDatePeriod(start, end);
+			}
+		});
+	}
+
+	/**
+	 * Shows the loaded news of today within a time period defined by start and end hours and minutes.
 	 *
 	 * @param startHour    the start hour of the time period (0-23)
 	 * @param startMinutes the start minutes of the time period (0-59)
 	 * @param endHour      the end hour of the time period (0-23)
 	 * @param endMinutes   the end minutes of the time period (0-59)
 	 */
-	private void loadNewsByTimePeriod(int startHour, int startMinutes, int endHour, int endMinutes) {
-		var start = LocalDateTime.now().withHour(startHour).withMinute(startMinutes);
-		var end = LocalDateTime.now().withHour(endHour).withMinute(endMinutes);
+	private void filterByTimePeriod(int startHour, int startMinutes, int endHour, int endMinutes) {
+		var today = LocalDate.now();
+		var start = today.atTime(startHour, startMinutes);
+		var end = today.atTime(endHour, endMinutes).plusMinutes(1).minusNanos(1);
+
+		filterByDatePeriod(start, end);
+		if (newsList.isEmpty() && lastPageLoaded) {
+			showInfoAlert("No news found for the selected time period.");
+		}
+	}
 
-		loadNewsByDatePeriod(start, end);
+	/**
+	 * Shows the loaded news within a specified date period, without requesting the API.
+	 *
+	 * @param start the start date and time of the period to show
+	 * @param end   the end date and time of the period to show
+	 */
+	private void filterByDatePeriod(LocalDateTime start, LocalDateTime end) {
+		filterStart = start;
+		filterEnd = end;
+		applyFilter();
 	}
 
 	/**
-	 * Loads the news within a specified date period defined by start and end LocalDateTime,
-	 * and updates the news list display.
+	 * Replaces the shown news with the news of the local index matching the current time period and text filter.
+	 * The period is found by binary search, only the news within it are checked against the text.
+	 */
+	private void applyFilter() {
+		newsList.setAll(newsIndex.between(filterStart, filterEnd, filterText));
+		lastShownRow = -1;
+		if (newsList.isEmpty()) {
+			clearNewsDisplay();
+		} else {
+			newsListView.getSelectionModel().selectFirst();
+			newsListView.scrollTo(0);
+		}
+		loadMoreIfNearEnd();
+	}
+
+	/**
+	 * Replaces the local index with the news within a specified date period defined by start and end LocalDateTime.
+	 * The first page is requested in the background, the next ones as the list is scrolled. Every page is added
+	 * to the index and its news matching the current filters are appended to the shown list.
+	 * Pages of a replaced index are dropped.
 	 *
 	 * @param start the start date and time of the period to load news
 	 * @param end   the end date and time of the period to load news
 	 */
 	private void loadNewsByDatePeriod(LocalDateTime start, LocalDateTime end) {
-		try {
-			newsList = newsApiService.getNews(start, end);
-			newsList.sort(Comparator.comparing(NewsDTO::getPublicationTime));
+		newsIndex = new NewsTimeIndex(start, end);
+		filterStart = start;
+		filterEnd = end;
+		refresh++;
+		loadedPageEnds.clear();
+		lastLoaded = null;
+		pageLoading = false;
+		lastPageLoaded = false;
+		earlierPagesDropped = false;
+		lastShownRow = -1;
+		newsList.clear();
+		loadNextPage();
+	}
 
-			if (newsList.isEmpty()) {
-				showInfoAlert("No news found for the selected time period.");
-			} else {
-				currentIndex = 0;
-				showCurrentNews();
-			}
-		} catch (Exception e) {
-			Platform.runLater(() -> showErrorAlert("Failed to load news: " + e.getMessage()));
+	/**
+	 * Loads the range of the index again from its start, keeping the current filters.
+	 */
+	private void reloadFromStart() {
+		var start = filterStart;
+		var end = filterEnd;
+		loadNewsByDatePeriod(newsIndex.getStart(), newsIndex.getEnd());
+		filterStart = start;
+		filterEnd = end;
+	}
+
+	/**
+	 * Requests the next page once a row close to the end of the shown news is rendered.
+	 *
+	 * @param index the index of the shown row
+	 */
+	private void onRowShown(int index) {
+		lastShownRow = index;
+		loadMoreIfNearEnd();
+	}
+
+	private void loadMoreIfNearEnd() {
+		if (lastShownRow >= newsList.size() - PREFETCH_ROWS) {
+			loadNextPage();
 		}
 	}
 
 	/**
-	 * Opens a dialog to create a new news entry and sends it to the API.
+	 * Requests the page of news following the last loaded entry in the background.
+	 * Pages are requested by position (keyset) rather than by index, so news saved while the pages are loaded
+	 * neither shift later pages nor repeat entries of earlier ones.
+	 */
+	private void loadNextPage() {
+		if (pageLoading || lastPageLoaded) {
+			return;
+		}
+		pageLoading = true;
+		var requestedRefresh = refresh;
+		var start = newsIndex.getStart();
+		var end = newsIndex.getEnd();
+		var after = lastLoaded;
+
+		CompletableFuture.supplyAsync(() -> newsApiService.getNewsSummaryPage(start, end, after, pageSize), loader)
+				.whenComplete((news, error) -> Platform.runLater(() -> onPageLoaded(requestedRefresh, news, error)));
+	}
+
+	private void onPageLoaded(int requestedRefresh, List<NewsDTO> news, Throwable error) {
+		if (requestedRefresh != refresh) {
+			return;
+		}
+		pageLoading = false;
+		if (!Objects.isNull(error)) {
+			lastPageLoaded = true;
+			showErrorAlert("Failed to load news: " + error.getCause().getMessage());
+			return;
+		}
+		lastPageLoaded = news.size() < pageSize;
+		var added = newsIndex.addAll(news);
+		if (lastPageLoaded) {
+			newsIndex.loadedUntil(newsIndex.getEnd());
+		} else {
+			lastLoaded = news.get(news.size() - 1);
+			// the next page may start with news published at the same time as the last one of this page
+			newsIndex.loadedUntil(lastLoaded.getPublicationTime().minusNanos(1));
+			loadedPageEnds.addLast(lastLoaded.getPublicationTime());
+		}
+		var wasEmpty = newsList.isEmpty();
+		added.stream()
+				.filter(item -> NewsTimeIndex.matches(item, filterStart, filterEnd, filterText))
+				.forEach(newsList::add);
+		dropEarliestPages();
+
+		if (wasEmpty && !newsList.isEmpty()) {
+			newsListView.getSelectionModel().selectFirst();
+			newsListView.scrollTo(0);
+		}
+		if (lastPageLoaded && newsIndex.size() == 0) {
+			clearNewsDisplay();
+			showInfoAlert("No news found for the selected time period.");
+		} else {
+			loadMoreIfNearEnd();
+		}
+	}
+
+	/**
+	 * Drops the earliest pages beyond the maximum number of loaded pages from the index and the shown list.
+	 * The news changed here are published now, so they are kept with the latest pages.
+	 */
+	private void dropEarliestPages() {
+		if (loadedPageEnds.size() <= maxLoadedPages) {
+			return;
+		}
+		LocalDateTime droppedUntil = null;
+		while (loadedPageEnds.size() > maxLoadedPages) {
+			droppedUntil = loadedPageEnds.removeFirst();
+		}
+		var until = droppedUntil;
+		newsIndex.removeUntil(until);
+		var selected = newsListView.getSelectionModel().getSelectedItem();
+		var shownBefore = newsList.size();
+		newsList.removeIf(item -> !item.getPublicationTime().isAfter(until));
+		var removedRows = shownBefore - newsList.size();
+		lastShownRow -= removedRows;
+		earlierPagesDropped = true;
+		// the rows moved up, keep the selected entry in view
+		if (removedRows > 0 && !Objects.isNull(selected) && newsList.contains(selected)) {
+			newsListView.scrollTo(selected);
+		}
+	}
+
+	/**
+	 * Opens a dialog to create a new news entry, shows it at once and saves it in the background.
 	 */
 	@FXML
 	public void onCreateNews() {
@@ -217,98 +559,202 @@ public class NewsViewController {
 		var result = dialog.showAndWait();
 
 		result.ifPresent(news -> {
-			try {
-				newsApiService.createNews(news);
-				loadAllNews();
-				currentIndex = newsList.size() - 1;
-				showCurrentNews();
-			} catch (Exception e) {
-				showErrorAlert("Failed to create news: " + e.getMessage());
+			if (!mutations.accepts(news)) {
+				showWarningAlert(TOO_MANY_CHANGES);
+				return;
 			}
+			newsIndex.addAll(List.of(news));
+			showInList(news);
+			mutations.create(news);
 		});
 	}
 
 	/**
 	 * Opens a dialog to edit the current news title and description,
-	 * and updates the news via the API.
+	 * shows the changed news at once and saves it in the background.
+	 * A description that is not cached is loaded in the background first, so the UI is not blocked by the request.
 	 */
 	@FXML
 	public void onEditNews() {
-		if (!newsList.isEmpty()) {
-			var currentNews = newsList.get(currentIndex);
-
-			// Create a dialog to edit title and description
-			Dialog<NewsDTO> dialog = new Dialog<>();
-			dialog.setTitle("Edit News");
-			dialog.setHeaderText("Change the title and description of the news:");
-
-			var okButtonType = new ButtonType("Update", ButtonBar.ButtonData.OK_DONE);
-			dialog.getDialogPane().getButtonTypes().addAll(okButtonType, ButtonType.CANCEL);
-
-			var titleField = new TextField(currentNews.getHeadline());
-			var descriptionField = new TextArea(currentNews.getDescription());
-
-			var grid = new GridPane();
-			grid.setHgap(10);
-			grid.setVgap(10);
-			grid.add(new Label("Title:"), 0, 0);
-			grid.add(titleField, 1, 0);
-			grid.add(new Label("Description:"), 0, 1);
-			grid.add(descriptionField, 1, 1);
-
-			dialog.getDialogPane().setContent(grid);
-
-			dialog.setResultConverter(dialogButton -> {
-				if (dialogButton == okButtonType) {
-					currentNews.setHeadline(titleField.getText());
-					currentNews.setDescription(descriptionField.getText());
-					currentNews.setPublicationTime(LocalDateTime.now());
-					return currentNews;
-				}
-				return null;
-			});
-
-			// Show the dialog and handle the result
-			var result = dialog.showAndWait();
-
-			result.ifPresent(updatedNews -> {
-				try {
-					newsApiService.updateNews(updatedNews.getId(), updatedNews);
-					loadAllNews();
-					showCurrentNews();
-				} catch (Exception e) {
-					showErrorAlert("Failed to update news: " + e.getMessage());
-				}
-			});
-		} else {
+		var currentNews = newsListView.getSelectionModel().getSelectedItem();
+		if (Objects.isNull(currentNews)) {
 			showWarningAlert("No news available to edit.");
+			return;
+		}
+		if (Objects.isNull(currentNews.getId())) {
+			// created here and not saved yet, the entry holds its description
+			editNews(currentNews, currentNews.getDescription());
+			return;
 		}
+		var description = descriptions.get(currentNews.getId());
+		if (!Objects.isNull(description)) {
+			editNews(currentNews, description);
+			return;
+		}
+		CompletableFuture.supplyAsync(() -> newsApiService.getNewsById(currentNews.getId()), loader)
+				.whenComplete((fullNews, error) -> Platform.runLater(() -> {
+					if (!Objects.isNull(error)) {
+						showErrorAlert("Failed to load news description: " + error.getCause().getMessage());
+						return;
+					}
+					var loadedDescription = takeLoaded(currentNews, fullNews);
+					// the dialog is not opened for an entry that is no longer selected
+					if (currentNews == newsListView.getSelectionModel().getSelectedItem()) {
+						editNews(currentNews, loadedDescription);
+					}
+				}));
+	}
+
+	/**
+	 * Opens the dialog editing the given news entry with its description.
+	 *
+	 * @param currentNews the news entry to edit
+	 * @param description the description of the entry
+	 */
+	private void editNews(NewsDTO currentNews, String description) {
+		// Create a dialog to edit title and description
+		Dialog<NewsDTO> dialog = new Dialog<>();
+		dialog.setTitle("Edit News");
+		dialog.setHeaderText("Change the title and description of the news:");
+
+		var okButtonType = new ButtonType("Update", ButtonBar.ButtonData.OK_DONE);
+		dialog.getDialogPane().getButtonTypes().addAll(okButtonType, ButtonType.CANCEL);
+
+		var titleField = new TextField(currentNews.getHeadline());
+		var descriptionField = new TextArea(description);
+
+		var grid = new GridPane();
+		grid.setHgap(10);
+		grid.setVgap(10);
+		grid.add(new Label("Title:"), 0, 0);
+		grid.add(titleField, 1, 0);
+		grid.add(new Label("Description:"), 0, 1);
+		grid.add(descriptionField, 1, 1);
+
+		dialog.getDialogPane().setContent(grid);
+
+		dialog.setResultConverter(dialogButton -> {
+			if (dialogButton == okButtonType) {
+				return NewsDTO.builder()
+						.headline(titleField.getText())
+						.description(descriptionField.getText())
+						.publicationTime(LocalDateTime.now())
+						.build();
+			}
+			return null;
+		});
+
+		// Show the dialog and handle the result
+		var result = dialog.showAndWait();
+
+		result.ifPresent(changes -> {
+			if (!mutations.accepts(currentNews)) {
+				showWarningAlert(TOO_MANY_CHANGES);
+				return;
+			}
+			var snapshot = NewsMutationQueue.copyOf(currentNews);
+			newsIndex.remove(currentNews);
+			currentNews.setHeadline(changes.getHeadline());
+			currentNews.setDescription(changes.getDescription());
+			currentNews.setPublicationTime(changes.getPublicationTime());
+			newsIndex.addAll(List.of(currentNews));
+			if (!Objects.isNull(currentNews.getId())) {
+				descriptions.put(currentNews.getId(), changes.getDescription());
+			}
+			showInList(currentNews);
+			mutations.update(currentNews, snapshot);
+		});
 	}
 
 
 	/**
-	 * Deletes the current news entry and reloads the news list from the API.
+	 * Removes the current news entry from the loaded news at once and deletes it in the background.
 	 */
 	@FXML
 	public void onDeleteNews() {
-		if (!newsList.isEmpty()) {
-			var currentNews = newsList.get(currentIndex);
-
-			try {
-				newsApiService.deleteNews(currentNews.getId());
-				loadAllNews();
-				if (currentIndex >= newsList.size()) {
-					currentIndex = newsList.size() - 1;
-				}
-				showCurrentNews();
-			} catch (Exception e) {
-				showErrorAlert("Failed to delete news: " + e.getMessage());
+		var currentNews = newsListView.getSelectionModel().getSelectedItem();
+		if (!Objects.isNull(currentNews)) {
+			if (!mutations.accepts(currentNews)) {
+				showWarningAlert(TOO_MANY_CHANGES);
+				return;
 			}
+			var snapshot = NewsMutationQueue.copyOf(currentNews);
+			newsIndex.remove(currentNews);
+			newsList.remove(currentNews);
+			mutations.delete(currentNews, snapshot);
 		} else {
 			showWarningAlert("No news available to delete.");
 		}
 	}
 
+	/**
+	 * Takes the ID and version assigned by the API to a saved change, so later edits are sent with them.
+	 *
+	 * @param mutation the saved change
+	 * @param saved    the news entry returned by the API, null for a deletion or a creation queued by the server
+	 */
+	private void onMutationSaved(NewsMutationQueue.Mutation mutation, NewsDTO saved) {
+		if (Objects.isNull(saved)) {
+			return;
+		}
+		var news = mutation.getNews();
+		news.setId(saved.getId());
+		news.setVersion(saved.getVersion());
+		if (mutation.getType() == NewsMutationQueue.Type.CREATE) {
+			descriptions.put(saved.getId(), news.getDescription());
+		}
+	}
+
+	/**
+	 * Rolls a failed change back: a created entry is removed, an edited or deleted entry is shown again
+	 * as it was last saved.
+	 *
+	 * @param mutation the failed change
+	 * @param error    the error of the request
+	 */
+	private void onMutationFailed(NewsMutationQueue.Mutation mutation, Throwable error) {
+		var news = mutation.getNews();
+		newsIndex.remove(news);
+		newsList.remove(news);
+		if (mutation.getType() != NewsMutationQueue.Type.CREATE) {
+			var snapshot = mutation.getSnapshot();
+			news.setHeadline(snapshot.getHeadline());
+			news.setDescription(snapshot.getDescription());
+			news.setPublicationTime(snapshot.getPublicationTime());
+			news.setVersion(snapshot.getVersion());
+			descriptions.remove(news.getId());
+			newsIndex.addAll(List.of(news));
+			showInList(news);
+		}
+		showErrorAlert(String.format("Failed to %s news \"%s\", the change has been undone: %s",
+				mutation.getType().name().toLowerCase(Locale.ROOT), news.getHeadline(), error.getMessage()));
+	}
+
+	/**
+	 * Shows a news entry at its place in the shown list and selects it, if it matches the current filters.
+	 *
+	 * @param news the news entry
+	 */
+	private void showInList(NewsDTO news) {
+		newsList.remove(news);
+		if (!NewsTimeIndex.matches(news, filterStart, filterEnd, filterText)) {
+			return;
+		}
+		int low = 0;
+		int high = newsList.size();
+		while (low < high) {
+			var middle = (low + high) >>> 1;
+			if (newsList.get(middle).getPublicationTime().isAfter(news.getPublicationTime())) {
+				high = middle;
+			} else {
+				low = middle + 1;
+			}
+		}
+		newsList.add(low, news);
+		newsListView.getSelectionModel().select(low);
+		newsListView.scrollTo(low);
+	}
+
 	/**
 	 * Shows an error alert with the given message.
 	 *
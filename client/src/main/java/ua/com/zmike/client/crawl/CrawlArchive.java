@@ -0,0 +1,140 @@
+package ua.com.zmike.client.crawl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Responses of one recorded crawl run, stored as a ZIP file: "manifest.properties" with the recording time,
+ * "pages.tsv" with the URL and final location of every page, and the bodies in "pages/&lt;n&gt;.html".
+ */
+public class CrawlArchive {
+
+	private static final String MANIFEST_ENTRY = "manifest.properties";
+	private static final String INDEX_ENTRY = "pages.tsv";
+	private static final String PAGE_ENTRY_PATTERN = "pages/%06d.html";
+	private static final String RECORDED_AT = "recorded-at";
+
+	/**
+	 * A recorded response.
+	 *
+	 * @param url      the requested URL.
+	 * @param location the URL after redirects, used as the base of the relative links.
+	 * @param body     the HTML of the page.
+	 */
+	public record Page(String url, String location, String body) {
+	}
+
+	private final LocalDateTime recordedAt;
+	private final Map<String, Page> pages;
+
+	private CrawlArchive(LocalDateTime recordedAt, Map<String, Page> pages) {
+		this.recordedAt = recordedAt;
+		this.pages = pages;
+	}
+
+	public LocalDateTime getRecordedAt() {
+		return recordedAt;
+	}
+
+	public Page getPage(String url) {
+		return pages.get(url);
+	}
+
+	public int size() {
+		return pages.size();
+	}
+
+	/**
+	 * Writes the responses of a crawl run to a new archive file.
+	 *
+	 * @param file       the archive file.
+	 * @param recordedAt the start of the crawl run.
+	 * @param pages      the responses in the order they were fetched.
+	 */
+	public static void write(Path file, LocalDateTime recordedAt, List<Page> pages) throws IOException {
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		var temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+		try (var zip = new ZipOutputStream(Files.newOutputStream(temporaryFile))) {
+			zip.setLevel(Deflater.BEST_COMPRESSION);
+
+			var manifest = new Properties();
+			manifest.setProperty(RECORDED_AT, recordedAt.toString());
+			zip.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+			manifest.store(zip, "Recorded crawl");
+			zip.closeEntry();
+
+			var index = new StringBuilder();
+			for (int i = 0; i < pages.size(); i++) {
+				var page = pages.get(i);
+				index.append(page.url()).append('\t').append(page.location()).append('\n');
+				zip.putNextEntry(new ZipEntry(String.format(PAGE_ENTRY_PATTERN, i)));
+				zip.write(page.body().getBytes(StandardCharsets.UTF_8));
+				zip.closeEntry();
+			}
+			zip.putNextEntry(new ZipEntry(INDEX_ENTRY));
+			zip.write(index.toString().getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+		}
+		Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Reads all responses of an archive file into memory.
+	 *
+	 * @param file the archive file.
+	 * @return the archive.
+	 */
+	public static CrawlArchive read(Path file) throws IOException {
+		try (var zip = new ZipFile(file.toFile())) {
+			var manifest = new Properties();
+			try (var input = zip.getInputStream(entry(zip, MANIFEST_ENTRY))) {
+				manifest.load(input);
+			}
+			var recordedAt = LocalDateTime.parse(manifest.getProperty(RECORDED_AT));
+
+			Map<String, Page> pages = new LinkedHashMap<>();
+			var index = readString(zip, entry(zip, INDEX_ENTRY)).split("\n");
+			for (int i = 0; i < index.length; i++) {
+				if (index[i].isEmpty()) {
+					continue;
+				}
+				var fields = index[i].split("\t", 2);
+				var body = readString(zip, entry(zip, String.format(PAGE_ENTRY_PATTERN, i)));
+				pages.put(fields[0], new Page(fields[0], fields[1], body));
+			}
+			return new CrawlArchive(recordedAt, pages);
+		}
+	}
+
+	private static ZipEntry entry(ZipFile zip, String name) throws IOException {
+		var entry = zip.getEntry(name);
+		if (entry == null) {
+			throw new IOException("Missing " + name + " in the crawl archive " + zip.getName());
+		}
+		return entry;
+	}
+
+	private static String readString(ZipFile zip, ZipEntry entry) throws IOException {
+		try (InputStream input = zip.getInputStream(entry)) {
+			var output = new ByteArrayOutputStream();
+			input.transferTo(output);
+			return output.toString(StandardCharsets.UTF_8);
+		}
+	}
+}
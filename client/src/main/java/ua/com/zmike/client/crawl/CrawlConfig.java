@@ -0,0 +1,40 @@
+package ua.com.zmike.client.crawl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects the {@link PageFetcher} of the parser with "client.crawl.mode": "live" (the news site),
+ * "record" (the news site, every run recorded into "client.crawl.directory") or "replay"
+ * (the recorded run "client.crawl.archive", without network access).
+ */
+@Configuration
+public class CrawlConfig {
+
+	@Value("${client.crawl.mode}")
+	private String mode;
+
+	@Value("${client.crawl.directory}")
+	private Path directory;
+
+	@Value("${client.crawl.archive}")
+	private String archive;
+
+	@Bean
+	public PageFetcher pageFetcher() throws IOException {
+		return switch (mode) {
+			case "live" -> new LivePageFetcher();
+			case "record" -> new RecordingPageFetcher(directory);
+			case "replay" -> {
+				if (archive.isBlank()) {
+					throw new IllegalStateException("client.crawl.archive is required in the replay mode");
+				}
+				yield new ReplayPageFetcher(CrawlArchive.read(Path.of(archive)));
+			}
+			default -> throw new IllegalStateException("Unknown client.crawl.mode: " + mode);
+		};
+	}
+}
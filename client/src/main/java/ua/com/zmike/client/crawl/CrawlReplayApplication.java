@@ -0,0 +1,149 @@
+package ua.com.zmike.client.crawl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import ua.com.zmike.client.dto.NewsDTO;
+import ua.com.zmike.client.parser.NewsExtractor;
+import ua.com.zmike.client.service.NewsParserService;
+import ua.com.zmike.client.service.impl.NewsParserServiceImpl;
+
+/**
+ * Offline regression and performance test of the parser.
+ * <p>
+ * Replays a crawl recorded in the "record" mode ({@link CrawlArchive}) through {@link NewsParserServiceImpl}
+ * without network access, and reports the pages parsed per second and the bytes allocated per page.
+ * The extracted news are compared with the baseline stored next to the archive ("&lt;archive&gt;.expected.json"):
+ * added, missing and changed news are reported and the run exits with status 1. A missing baseline fails
+ * the run as well, so it never passes without a comparison; the baseline is written only when
+ * "replay.update-baseline" is set.
+ * <p>
+ * System properties: "replay.archive" (required), "replay.warmups" (2), "replay.iterations" (5),
+ * "replay.update-baseline" (false). The selectors are read from the client application.yml.
+ */
+@Slf4j
+public class CrawlReplayApplication {
+
+	/**
+	 * News extracted from an article, as stored in the baseline.
+	 */
+	record ExtractedNews(String headline, String description, LocalDateTime publicationTime) {
+
+		static ExtractedNews of(NewsDTO news) {
+			return new ExtractedNews(news.getHeadline(), news.getDescription(), news.getPublicationTime());
+		}
+	}
+
+	/**
+	 * Beans of the parser only; not a @Configuration, so the component scan of the client does not pick it up.
+	 */
+	@Import({CrawlConfig.class, NewsExtractor.class, NewsParserServiceImpl.class})
+	static class ReplayConfig {
+
+		@Bean
+		public ObservationRegistry observationRegistry() {
+			return ObservationRegistry.NOOP;
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		var archive = System.getProperty("replay.archive");
+		if (archive == null || archive.isBlank()) {
+			throw new IllegalArgumentException("Set the recorded crawl with -Dreplay.archive=<crawl-*.zip>");
+		}
+		var warmups = Integer.getInteger("replay.warmups", 2);
+		var iterations = Integer.getInteger("replay.iterations", 5);
+		var updateBaseline = Boolean.getBoolean("replay.update-baseline");
+
+		boolean passed;
+		try (var context = new SpringApplicationBuilder(ReplayConfig.class)
+				.web(WebApplicationType.NONE)
+				.run("--client.crawl.mode=replay", "--client.crawl.archive=" + archive)) {
+			var parser = context.getBean(NewsParserService.class);
+			var fetcher = (ReplayPageFetcher) context.getBean(PageFetcher.class);
+
+			for (int i = 0; i < warmups; i++) {
+				parser.parseNewsFromWebsite();
+			}
+			var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+			var pagesBefore = fetcher.getFetchedPages();
+			var allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+			var startNanos = System.nanoTime();
+			List<NewsDTO> news = List.of();
+			for (int i = 0; i < iterations; i++) {
+				news = parser.parseNewsFromWebsite();
+			}
+			var elapsedNanos = System.nanoTime() - startNanos;
+			var allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+			var pages = fetcher.getFetchedPages() - pagesBefore;
+
+			log.info("Replayed {} pages in {} iterations: {} pages/s, {} KiB allocated per page, {} news extracted",
+					pages, iterations, String.format("%.1f", pages * 1e9 / Math.max(elapsedNanos, 1)),
+					pages == 0 ? 0 : allocated / pages / 1024, news.size());
+
+			passed = compareWithBaseline(Path.of(archive + ".expected.json"), news, updateBaseline);
+		}
+		System.exit(passed ? 0 : 1);
+	}
+
+	private static boolean compareWithBaseline(Path baselineFile, List<NewsDTO> news, boolean update)
+			throws IOException {
+		var objectMapper = new ObjectMapper()
+				.findAndRegisterModules()
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.enable(SerializationFeature.INDENT_OUTPUT);
+		Map<String, ExtractedNews> extracted = new TreeMap<>();
+		news.forEach(item -> extracted.put(item.getLink(), ExtractedNews.of(item)));
+
+		if (update) {
+			objectMapper.writeValue(baselineFile.toFile(), extracted);
+			log.info("Baseline of {} news written to {}", extracted.size(), baselineFile);
+			return true;
+		}
+		if (Files.notExists(baselineFile)) {
+			log.error("Baseline {} does not exist, record one with -Dreplay.update-baseline=true",
+					baselineFile.toAbsolutePath());
+			return false;
+		}
+		Map<String, ExtractedNews> expected = objectMapper.readValue(baselineFile.toFile(), new TypeReference<>() {
+		});
+
+		var links = new TreeSet<>(expected.keySet());
+		links.addAll(extracted.keySet());
+		var differences = 0;
+		for (var link : links) {
+			var expectedNews = expected.get(link);
+			var extractedNews = extracted.get(link);
+			if (expectedNews == null) {
+				log.error("Added: {} {}", link, extractedNews);
+			} else if (extractedNews == null) {
+				log.error("Missing: {} {}", link, expectedNews);
+			} else if (!Objects.equals(expectedNews, extractedNews)) {
+				log.error("Changed: {}\n  expected {}\n  extracted {}", link, expectedNews, extractedNews);
+			} else {
+				continue;
+			}
+			differences++;
+		}
+		if (differences == 0) {
+			log.info("Extracted news match the baseline {}", baselineFile);
+		}
+		return differences == 0;
+	}
+}
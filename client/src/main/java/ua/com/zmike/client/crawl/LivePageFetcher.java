@@ -0,0 +1,22 @@
+package ua.com.zmike.client.crawl;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+/**
+ * Fetches the pages from the live news site.
+ */
+public class LivePageFetcher implements PageFetcher {
+
+	@Override
+	public Document fetch(String url) throws IOException {
+		return Jsoup.connect(url).get();
+	}
+
+	@Override
+	public LocalDateTime fetchTime() {
+		return LocalDateTime.now();
+	}
+}
@@ -0,0 +1,32 @@
+package ua.com.zmike.client.crawl;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import org.jsoup.nodes.Document;
+
+/**
+ * Source of the pages of the news site read by the parser: the live site, the live site with every page
+ * recorded into a {@link CrawlArchive}, or a recorded crawl replayed without network access.
+ */
+public interface PageFetcher {
+
+	/**
+	 * Fetches and parses a page.
+	 *
+	 * @param url the URL of the page.
+	 * @return the parsed page.
+	 * @throws IOException when the page cannot be fetched.
+	 */
+	Document fetch(String url) throws IOException;
+
+	/**
+	 * Returns the time the fetched pages are from: now for the live site, the recording time for a replay.
+	 */
+	LocalDateTime fetchTime();
+
+	/**
+	 * Called when a crawl run has fetched all of its pages.
+	 */
+	default void crawlFinished() {
+	}
+}
@@ -0,0 +1,63 @@
+package ua.com.zmike.client.crawl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+/**
+ * Fetches the pages from the live news site and records the responses of every crawl run into its own
+ * {@link CrawlArchive} ("crawl-20241001-101500.zip") in the given directory, to be replayed later.
+ * The responses of a run are kept in memory until it is finished.
+ */
+@Slf4j
+public class RecordingPageFetcher implements PageFetcher {
+
+	private static final DateTimeFormatter FILE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final Path directory;
+	private final List<CrawlArchive.Page> pages = new ArrayList<>();
+	private LocalDateTime crawlStart;
+
+	public RecordingPageFetcher(Path directory) {
+		this.directory = directory;
+	}
+
+	@Override
+	public synchronized Document fetch(String url) throws IOException {
+		if (crawlStart == null) {
+			crawlStart = LocalDateTime.now();
+		}
+		var response = Jsoup.connect(url).execute();
+		var page = new CrawlArchive.Page(url, response.url().toString(), response.body());
+		pages.add(page);
+		return Jsoup.parse(page.body(), page.location());
+	}
+
+	@Override
+	public LocalDateTime fetchTime() {
+		return LocalDateTime.now();
+	}
+
+	@Override
+	public synchronized void crawlFinished() {
+		if (pages.isEmpty()) {
+			return;
+		}
+		var file = directory.resolve("crawl-" + FILE_TIME_FORMATTER.format(crawlStart) + ".zip");
+		try {
+			CrawlArchive.write(file, crawlStart, pages);
+			log.info("Recorded {} pages of the crawl to {}", pages.size(), file);
+		} catch (IOException e) {
+			log.error("Failed to record the crawl to {}: {}", file, e.getMessage(), e);
+		} finally {
+			pages.clear();
+			crawlStart = null;
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package ua.com.zmike.client.crawl;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+/**
+ * Serves the pages of a recorded crawl from its {@link CrawlArchive}, without network access.
+ * A page that was not recorded fails like an unreachable one.
+ */
+public class ReplayPageFetcher implements PageFetcher {
+
+	private final CrawlArchive archive;
+	private long fetchedPages;
+
+	public ReplayPageFetcher(CrawlArchive archive) {
+		this.archive = archive;
+	}
+
+	@Override
+	public Document fetch(String url) throws IOException {
+		var page = archive.getPage(url);
+		if (page == null) {
+			throw new IOException("Page not recorded: " + url);
+		}
+		fetchedPages++;
+		return Jsoup.parse(page.body(), page.location());
+	}
+
+	@Override
+	public LocalDateTime fetchTime() {
+		return archive.getRecordedAt();
+	}
+
+	/**
+	 * Returns the number of pages served so far.
+	 */
+	public long getFetchedPages() {
+		return fetchedPages;
+	}
+}
@@ -1,5 +1,6 @@
 package ua.com.zmike.client.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
 import lombok.Builder;
 import lombok.Data;
@@ -16,4 +17,12 @@ public class NewsDTO {
 
 	private LocalDateTime publicationTime;
 
+	private Long version;
+
+	/**
+	 * Link of the article the news has been parsed from, not sent to the API.
+	 */
+	@JsonIgnore
+	private String link;
+
 }
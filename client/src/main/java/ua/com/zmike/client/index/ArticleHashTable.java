@@ -0,0 +1,140 @@
+package ua.com.zmike.client.index;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table of the published articles: the 64-bit hash of an article URL maps to the
+ * 64-bit hash of its content and the ID of the news entry it has been published as.
+ * <p>
+ * Entries are kept in three primitive arrays probed linearly, 24 bytes per slot and no object per entry,
+ * so a million tracked URLs take at most 48 MB (2^21 slots) instead of the hundreds a map of strings would.
+ * URL hash 0 marks an empty slot, so a URL hashing to 0 is stored as 1.
+ * Entries are never removed one by one, the table is cleared when the published news are deleted.
+ */
+public class ArticleHashTable {
+
+	/**
+	 * Returned when a URL has not been published yet.
+	 */
+	public static final long NO_NEWS = -1;
+
+	private static final long EMPTY = 0;
+	private static final int MIN_CAPACITY = 1024;
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private long[] urlHashes;
+	private long[] contentHashes;
+	private long[] newsIds;
+	private int mask;
+	private int size;
+	private int resizeThreshold;
+
+	public ArticleHashTable() {
+		allocate(MIN_CAPACITY);
+	}
+
+	/**
+	 * Checks whether the article has been published with the same content.
+	 *
+	 * @param urlHash     the hash of the article URL.
+	 * @param contentHash the hash of the article content.
+	 * @return true when the article is known and its content has not changed.
+	 */
+	public synchronized boolean isUnchanged(long urlHash, long contentHash) {
+		var slot = find(key(urlHash));
+		return urlHashes[slot] != EMPTY && contentHashes[slot] == contentHash;
+	}
+
+	/**
+	 * @param urlHash the hash of the article URL.
+	 * @return the ID of the news entry the article has been published as, or {@link #NO_NEWS}.
+	 */
+	public synchronized long getNewsId(long urlHash) {
+		var slot = find(key(urlHash));
+		return urlHashes[slot] != EMPTY ? newsIds[slot] : NO_NEWS;
+	}
+
+	/**
+	 * Records the published content of an article.
+	 *
+	 * @param urlHash     the hash of the article URL.
+	 * @param contentHash the hash of the published content.
+	 * @param newsId      the ID of the news entry the article has been published as.
+	 */
+	public synchronized void put(long urlHash, long contentHash, long newsId) {
+		var key = key(urlHash);
+		var slot = find(key);
+		if (urlHashes[slot] == EMPTY) {
+			if (size >= resizeThreshold) {
+				resize();
+				slot = find(key);
+			}
+			urlHashes[slot] = key;
+			size++;
+		}
+		contentHashes[slot] = contentHash;
+		newsIds[slot] = newsId;
+	}
+
+	/**
+	 * Forgets all articles and shrinks the table back to its initial capacity.
+	 */
+	public synchronized void clear() {
+		allocate(MIN_CAPACITY);
+	}
+
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the slot holding the key, or the empty slot where it would be inserted.
+	 */
+	private int find(long key) {
+		var slot = (int) mix(key) & mask;
+		while (urlHashes[slot] != EMPTY && urlHashes[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private void resize() {
+		var oldUrlHashes = urlHashes;
+		var oldContentHashes = contentHashes;
+		var oldNewsIds = newsIds;
+		allocate(oldUrlHashes.length * 2);
+
+		for (int i = 0; i < oldUrlHashes.length; i++) {
+			if (oldUrlHashes[i] != EMPTY) {
+				var slot = find(oldUrlHashes[i]);
+				urlHashes[slot] = oldUrlHashes[i];
+				contentHashes[slot] = oldContentHashes[i];
+				newsIds[slot] = oldNewsIds[i];
+				size++;
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		urlHashes = new long[capacity];
+		contentHashes = new long[capacity];
+		newsIds = new long[capacity];
+		Arrays.fill(newsIds, NO_NEWS);
+		mask = capacity - 1;
+		size = 0;
+		resizeThreshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+	private static long key(long urlHash) {
+		return urlHash == EMPTY ? 1 : urlHash;
+	}
+
+	/**
+	 * SplitMix64 finalizer, so the low bits used as the slot depend on all bits of the hash.
+	 */
+	private static long mix(long hash) {
+		hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+		hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+		return hash ^ (hash >>> 31);
+	}
+}
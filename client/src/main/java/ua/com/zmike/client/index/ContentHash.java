@@ -0,0 +1,35 @@
+package ua.com.zmike.client.index;
+
+/**
+ * 64-bit FNV-1a hash of texts, used to recognize article URLs and article contents without keeping them.
+ */
+public final class ContentHash {
+
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private ContentHash() {
+	}
+
+	/**
+	 * Hashes the given texts. Every text is terminated by a separator, so moving characters from one text
+	 * to the next changes the hash.
+	 *
+	 * @param texts the texts to hash, null is hashed as an empty text.
+	 * @return the 64-bit hash.
+	 */
+	public static long of(CharSequence... texts) {
+		long hash = FNV_OFFSET_BASIS;
+		for (CharSequence text : texts) {
+			if (text != null) {
+				for (int i = 0; i < text.length(); i++) {
+					var symbol = text.charAt(i);
+					hash = (hash ^ (symbol & 0xff)) * FNV_PRIME;
+					hash = (hash ^ (symbol >>> 8)) * FNV_PRIME;
+				}
+			}
+			hash = (hash ^ 0xff) * FNV_PRIME;
+		}
+		return hash;
+	}
+}
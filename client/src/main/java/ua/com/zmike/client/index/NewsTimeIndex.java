@@ -0,0 +1,269 @@
+package ua.com.zmike.client.index;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import ua.com.zmike.client.dto.NewsDTO;
+
+/**
+ * Local copy of the news loaded for a time range, kept in arrays sorted by publication time.
+ * <p>
+ * Time ranges are found with two binary searches over the primitive array of publication times in epoch
+ * milliseconds, text filters scan only the news of the range, so filtering never needs the network.
+ * News arrive in pages ordered by publication time and are usually appended at the end. The index tracks
+ * the part of the range its pages span, so only the ranges within it are answered locally, and the earliest
+ * pages can be dropped to bound the memory held.
+ * The index is not thread-safe, it is meant to be used by the JavaFX application thread only.
+ */
+public class NewsTimeIndex {
+
+	private static final int INITIAL_CAPACITY = 256;
+
+	private final LocalDateTime start;
+	private final LocalDateTime end;
+
+	private long[] times = new long[INITIAL_CAPACITY];
+	private NewsDTO[] news = new NewsDTO[INITIAL_CAPACITY];
+	private String[] headlines = new String[INITIAL_CAPACITY];
+	private int size;
+	private LocalDateTime loadedFrom;
+	private LocalDateTime loadedTo;
+
+	/**
+	 * @param start the start of the time range the index is loaded for.
+	 * @param end   the end of the time range the index is loaded for.
+	 */
+	public NewsTimeIndex(LocalDateTime start, LocalDateTime end) {
+		this.start = start;
+		this.end = end;
+		this.loadedFrom = start;
+		this.loadedTo = start.minusNanos(1);
+	}
+
+	public LocalDateTime getStart() {
+		return start;
+	}
+
+	public LocalDateTime getEnd() {
+		return end;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks whether the given time range lies within the part of the range whose news are held by the index.
+	 *
+	 * @param from the start of the range.
+	 * @param to   the end of the range.
+	 * @return true when the range can be answered from the index.
+	 */
+	public boolean covers(LocalDateTime from, LocalDateTime to) {
+		return !from.isBefore(loadedFrom) && !to.isAfter(loadedTo);
+	}
+
+	/**
+	 * Marks the news published up to the given time, inclusive, as loaded.
+	 *
+	 * @param time the time up to which all news of the range have been added.
+	 */
+	public void loadedUntil(LocalDateTime time) {
+		if (time.isAfter(loadedTo)) {
+			loadedTo = time.isAfter(end) ? end : time;
+		}
+	}
+
+	/**
+	 * Removes all news published up to the given time, inclusive; the part of the range held by the index
+	 * then starts after it.
+	 *
+	 * @param time the time up to which the news are removed.
+	 */
+	public void removeUntil(LocalDateTime time) {
+		var removed = upperBound(millis(time));
+		if (removed > 0) {
+			var tail = size - removed;
+			System.arraycopy(times, removed, times, 0, tail);
+			System.arraycopy(news, removed, news, 0, tail);
+			System.arraycopy(headlines, removed, headlines, 0, tail);
+			Arrays.fill(news, tail, size, null);
+			Arrays.fill(headlines, tail, size, null);
+			size = tail;
+		}
+		var after = new Timestamp(millis(time) + 1).toLocalDateTime();
+		if (after.isAfter(loadedFrom)) {
+			loadedFrom = after;
+		}
+	}
+
+	/**
+	 * Adds loaded news to the index, keeping it ordered by publication time. A news entry whose ID is already
+	 * indexed with the same publication time is skipped, so the shown instance, which may carry local changes,
+	 * stays the indexed one.
+	 *
+	 * @param loaded the news to add.
+	 * @return the news that were added.
+	 */
+	public List<NewsDTO> addAll(List<NewsDTO> loaded) {
+		ensureCapacity(size + loaded.size());
+		var added = new ArrayList<NewsDTO>(loaded.size());
+		for (var item : loaded) {
+			if (add(item)) {
+				added.add(item);
+			}
+		}
+		return added;
+	}
+
+	/**
+	 * Removes a news entry from the index: the given instance, or the entry with the same ID.
+	 * It must be called before the publication time of the entry is changed.
+	 *
+	 * @param removed the news entry to remove.
+	 */
+	public void remove(NewsDTO removed) {
+		var time = millis(removed.getPublicationTime());
+		for (int i = lowerBound(time); i < size && times[i] == time; i++) {
+			if (news[i] == removed || (removed.getId() != null && removed.getId().equals(news[i].getId()))) {
+				var tail = size - i - 1;
+				System.arraycopy(times, i + 1, times, i, tail);
+				System.arraycopy(news, i + 1, news, i, tail);
+				System.arraycopy(headlines, i + 1, headlines, i, tail);
+				size--;
+				news[size] = null;
+				headlines[size] = null;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Finds the news published between the given times, both inclusive.
+	 *
+	 * @param from the start of the range.
+	 * @param to   the end of the range.
+	 * @return the news ordered by publication time.
+	 */
+	public List<NewsDTO> between(LocalDateTime from, LocalDateTime to) {
+		var first = lowerBound(millis(from));
+		var last = upperBound(millis(to));
+		if (first >= last) {
+			return List.of();
+		}
+		return List.copyOf(Arrays.asList(news).subList(first, last));
+	}
+
+	/**
+	 * Finds the news published between the given times, both inclusive, whose headline contains the given text.
+	 * The text is matched case-insensitively, a blank text matches all news of the range.
+	 *
+	 * @param from the start of the range.
+	 * @param to   the end of the range.
+	 * @param text the text to look for in the headlines.
+	 * @return the matching news ordered by publication time.
+	 */
+	public List<NewsDTO> between(LocalDateTime from, LocalDateTime to, String text) {
+		if (text == null || text.isBlank()) {
+			return between(from, to);
+		}
+		var needle = normalize(text.strip());
+		var last = upperBound(millis(to));
+		var found = new ArrayList<NewsDTO>();
+		for (int i = lowerBound(millis(from)); i < last; i++) {
+			if (headlines[i].contains(needle)) {
+				found.add(news[i]);
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Checks whether a news entry is published between the given times, both inclusive,
+	 * and its headline contains the given text, the same way {@link #between(LocalDateTime, LocalDateTime, String)} does.
+	 */
+	public static boolean matches(NewsDTO candidate, LocalDateTime from, LocalDateTime to, String text) {
+		var time = candidate.getPublicationTime();
+		return !time.isBefore(from) && !time.isAfter(to)
+				&& (text == null || text.isBlank() || normalize(candidate.getHeadline()).contains(normalize(text.strip())));
+	}
+
+	private boolean add(NewsDTO added) {
+		var time = millis(added.getPublicationTime());
+		var position = upperBound(time);
+		if (added.getId() != null) {
+			for (int i = position - 1; i >= 0 && times[i] == time; i--) {
+				if (added.getId().equals(news[i].getId())) {
+					return false;
+				}
+			}
+		}
+		var tail = size - position;
+		if (tail > 0) {
+			System.arraycopy(times, position, times, position + 1, tail);
+			System.arraycopy(news, position, news, position + 1, tail);
+			System.arraycopy(headlines, position, headlines, position + 1, tail);
+		}
+		times[position] = time;
+		news[position] = added;
+		headlines[position] = normalize(added.getHeadline());
+		size++;
+		return true;
+	}
+
+	/**
+	 * Returns the index of the first news published at or after the given time.
+	 */
+	private int lowerBound(long time) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			var middle = (low + high) >>> 1;
+			if (times[middle] < time) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Returns the index of the first news published after the given time.
+	 */
+	private int upperBound(long time) {
+		int low = 0;
+		int high = size;
+		while (low < high) {
+			var middle = (low + high) >>> 1;
+			if (times[middle] <= time) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity <= times.length) {
+			return;
+		}
+		var newCapacity = Math.max(capacity, times.length * 2);
+		times = Arrays.copyOf(times, newCapacity);
+		news = Arrays.copyOf(news, newCapacity);
+		headlines = Arrays.copyOf(headlines, newCapacity);
+	}
+
+	private static long millis(LocalDateTime time) {
+		return Timestamp.valueOf(time).getTime();
+	}
+
+	private static String normalize(String text) {
+		return Objects.toString(text, "").toLowerCase(Locale.ROOT);
+	}
+}
@@ -0,0 +1,75 @@
+package ua.com.zmike.client.parser;
+
+import java.time.LocalDateTime;
+import lombok.Getter;
+import ua.com.zmike.client.dto.NewsDTO;
+
+/**
+ * Result of the extraction of one article, reused for every article extracted by the same thread.
+ * The headline and description are normalized to the lengths of the news table columns.
+ */
+@Getter
+public class NewsExtraction {
+
+	/**
+	 * Length of the news.headline column.
+	 */
+	public static final int HEADLINE_MAX_LENGTH = 100;
+
+	/**
+	 * Length of the news.description column.
+	 */
+	public static final int DESCRIPTION_MAX_LENGTH = 1000;
+
+	public enum Status {
+		EXTRACTED,
+		MISSING_FIELD,
+		HEADLINE_TOO_LONG,
+		INVALID_PUBLICATION_TIME
+	}
+
+	private final NormalizedText headline = new NormalizedText(HEADLINE_MAX_LENGTH);
+	private final NormalizedText description = new NormalizedText(DESCRIPTION_MAX_LENGTH);
+	private String link;
+	private String publicationTimeText;
+	private LocalDateTime publicationTime;
+	private Status status;
+
+	/**
+	 * Clears the result before the extraction of the next article.
+	 *
+	 * @param link the link of the article.
+	 */
+	void reset(String link) {
+		this.link = link;
+		headline.reset();
+		description.reset();
+		publicationTimeText = null;
+		publicationTime = null;
+		status = null;
+	}
+
+	void complete(String publicationTimeText, LocalDateTime publicationTime, Status status) {
+		this.publicationTimeText = publicationTimeText;
+		this.publicationTime = publicationTime;
+		this.status = status;
+	}
+
+	public boolean isExtracted() {
+		return status == Status.EXTRACTED;
+	}
+
+	/**
+	 * Copies the extracted news out of the reusable result.
+	 *
+	 * @return the news to send to the API.
+	 */
+	public NewsDTO toDto() {
+		return NewsDTO.builder()
+				.headline(headline.toString())
+				.description(description.toString())
+				.publicationTime(publicationTime)
+				.link(link)
+				.build();
+	}
+}
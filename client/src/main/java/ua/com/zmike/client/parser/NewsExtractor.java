@@ -0,0 +1,81 @@
+package ua.com.zmike.client.parser;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import org.jsoup.nodes.Document;
+import org.jsoup.select.Elements;
+import org.jsoup.select.NodeTraversor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Extracts the headline, description and publication time of a fetched article page.
+ * <p>
+ * The text is collected from the selected elements straight into the normalized buffers of a
+ * {@link NewsExtraction} kept per thread, so an article costs no intermediate strings until the news is
+ * copied out with {@link NewsExtraction#toDto()}. Articles that would not fit the news table are rejected
+ * here instead of failing at insert time: a too long headline rejects the article, a too long description
+ * is truncated.
+ */
+@Component
+public class NewsExtractor {
+
+	private static final DateTimeFormatter PUBLICATION_TIME_FORMATTER = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
+
+	private final ThreadLocal<NewsExtraction> extractions = ThreadLocal.withInitial(NewsExtraction::new);
+
+	private final String headlineSelector;
+	private final String descriptionSelector;
+	private final String publicationTimeSelector;
+
+	public NewsExtractor(@Value("${client.news-site.selector.headline}") String headlineSelector,
+						 @Value("${client.news-site.selector.description}") String descriptionSelector,
+						 @Value("${client.news-site.selector.publication-time}") String publicationTimeSelector) {
+		this.headlineSelector = headlineSelector;
+		this.descriptionSelector = descriptionSelector;
+		this.publicationTimeSelector = publicationTimeSelector;
+	}
+
+	/**
+	 * Extracts the news of an article page.
+	 * The returned result is reused by the next extraction on the same thread.
+	 *
+	 * @param link    the link of the article.
+	 * @param article the fetched article page.
+	 * @return the extraction result with its status.
+	 */
+	public NewsExtraction extract(String link, Document article) {
+		var extraction = extractions.get();
+		extraction.reset(link);
+
+		collect(extraction.getHeadline(), article.select(headlineSelector));
+		collect(extraction.getDescription(), article.select(descriptionSelector));
+		var publicationTimeText = article.select(publicationTimeSelector).attr("datetime");
+
+		if (extraction.getHeadline().isEmpty() || extraction.getDescription().isEmpty() || publicationTimeText.isEmpty()) {
+			extraction.complete(publicationTimeText, null, NewsExtraction.Status.MISSING_FIELD);
+		} else if (extraction.getHeadline().isTruncated()) {
+			extraction.complete(publicationTimeText, null, NewsExtraction.Status.HEADLINE_TOO_LONG);
+		} else {
+			try {
+				var publicationTime = PUBLICATION_TIME_FORMATTER.parse(publicationTimeText, LocalDateTime::from);
+				extraction.complete(publicationTimeText, publicationTime, NewsExtraction.Status.EXTRACTED);
+			} catch (DateTimeParseException e) {
+				extraction.complete(publicationTimeText, null, NewsExtraction.Status.INVALID_PUBLICATION_TIME);
+			}
+		}
+		return extraction;
+	}
+
+	/**
+	 * Collects the text of the selected elements, separated by a space like {@code Elements.text()} does,
+	 * so the text of inline elements selected one after another does not run together.
+	 */
+	private static void collect(NormalizedText text, Elements elements) {
+		for (var element : elements) {
+			text.appendSpace();
+			NodeTraversor.traverse(text, element);
+		}
+	}
+}
@@ -0,0 +1,151 @@
+package ua.com.zmike.client.parser;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeVisitor;
+
+/**
+ * Reusable buffer of text normalized in a single pass while it is appended.
+ * <p>
+ * Runs of whitespace (including non-breaking spaces and control characters) collapse into one space,
+ * leading and trailing whitespace is dropped and zero-width characters are removed. The text never grows
+ * past its maximum length: characters that do not fit are dropped and the text is marked as truncated,
+ * surrogate pairs are never split.
+ * <p>
+ * As a {@link NodeVisitor} it collects the text of the traversed jsoup nodes directly from the text nodes,
+ * without building the intermediate strings of {@code Elements.text()}; block elements and line breaks
+ * separate words like whitespace does.
+ */
+public class NormalizedText implements NodeVisitor, CharSequence {
+
+	private final StringBuilder text;
+	private final int maxLength;
+	private boolean pendingSpace;
+	private boolean truncated;
+
+	/**
+	 * @param maxLength the maximum number of characters of the text.
+	 */
+	public NormalizedText(int maxLength) {
+		this.text = new StringBuilder(maxLength);
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * Clears the text, keeping the allocated buffer.
+	 */
+	public void reset() {
+		text.setLength(0);
+		pendingSpace = false;
+		truncated = false;
+	}
+
+	/**
+	 * Appends the given text, normalizing it.
+	 *
+	 * @param source the text to append.
+	 */
+	public void append(CharSequence source) {
+		var length = source.length();
+		for (int i = 0; i < length && !truncated; i++) {
+			var c = source.charAt(i);
+			if (isSpace(c)) {
+				appendSpace();
+			} else if (!isIgnorable(c)) {
+				var pair = Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(source.charAt(i + 1));
+				if (append(c, pair ? source.charAt(++i) : 0, pair ? 2 : 1)) {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Separates the following text from the text appended so far by a space.
+	 */
+	public void appendSpace() {
+		pendingSpace = !text.isEmpty();
+	}
+
+	@Override
+	public void head(Node node, int depth) {
+		if (node instanceof TextNode textNode) {
+			append(textNode.getWholeText());
+		} else if (node instanceof Element element && (element.isBlock() || "br".equals(element.normalName()))) {
+			appendSpace();
+		}
+	}
+
+	@Override
+	public void tail(Node node, int depth) {
+		if (node instanceof Element element && element.isBlock()) {
+			appendSpace();
+		}
+	}
+
+	/**
+	 * @return true when characters have been dropped because the text reached its maximum length.
+	 */
+	public boolean isTruncated() {
+		return truncated;
+	}
+
+	@Override
+	public int length() {
+		return text.length();
+	}
+
+	@Override
+	public char charAt(int index) {
+		return text.charAt(index);
+	}
+
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return text.subSequence(start, end);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return text.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return text.toString();
+	}
+
+	/**
+	 * Appends one character, or a surrogate pair, preceded by the pending space.
+	 *
+	 * @return true when it did not fit and the text has been truncated.
+	 */
+	private boolean append(char first, char second, int width) {
+		var needed = width + (pendingSpace ? 1 : 0);
+		if (text.length() + needed > maxLength) {
+			truncated = true;
+			return true;
+		}
+		if (pendingSpace) {
+			text.append(' ');
+			pendingSpace = false;
+		}
+		text.append(first);
+		if (width == 2) {
+			text.append(second);
+		}
+		return false;
+	}
+
+	private static boolean isSpace(char c) {
+		return Character.isWhitespace(c) || Character.isSpaceChar(c) || Character.isISOControl(c);
+	}
+
+	/**
+	 * Zero-width spaces and joiners, the word joiner, the byte order mark and soft hyphens.
+	 */
+	private static boolean isIgnorable(char c) {
+		return (c >= '\u200B' && c <= '\u200D') || c == '\u2060' || c == '\uFEFF' || c == '\u00AD';
+	}
+}
@@ -3,10 +3,12 @@ package ua.com.zmike.client.schaduler;
 import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import ua.com.zmike.client.service.NewsApiService;
 import ua.com.zmike.client.service.NewsParserService;
+import ua.com.zmike.client.service.NewsPublisherService;
 
 @Service
 @RequiredArgsConstructor
@@ -15,17 +17,31 @@ public class SchedulerService {
 
 	private final NewsParserService parserService;
 	private final NewsApiService apiService;
+	private final NewsPublisherService publisherService;
+
+	@Value("${client.crawl.dry-run}")
+	private boolean dryRun;
 
 	@Scheduled(cron = "${client.cron.clean}")
 	public void cleanOldNews() {
+		if (dryRun) {
+			log.info("Dry run: old News not cleaned");
+			return;
+		}
 		log.info("Executing clean old News (before now)");
 		apiService.deleteNewsBeforeTime(LocalDateTime.now());
+		publisherService.forgetPublished();
 	}
 
 	@Scheduled(cron = "${client.cron.parse}")
 	public void parseAndSendNews() {
 		try {
-			parserService.parseNewsFromWebsite().forEach(apiService::createNews);
+			var news = parserService.parseNewsFromWebsite();
+			if (dryRun) {
+				log.info("Dry run: {} news parsed, not published", news.size());
+				return;
+			}
+			publisherService.publish(news);
 		} catch (Exception e) {
 			log.error("Error parsing news", e);
 		}
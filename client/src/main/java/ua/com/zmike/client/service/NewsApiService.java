@@ -8,9 +8,15 @@ public interface NewsApiService {
 
 	List<NewsDTO> getNews(LocalDateTime start, LocalDateTime end);
 
-	void createNews(NewsDTO newsDTO);
+	List<NewsDTO> getNewsSummaries(LocalDateTime start, LocalDateTime end);
 
-	void updateNews(Long id, NewsDTO newsDTO);
+	List<NewsDTO> getNewsSummaryPage(LocalDateTime start, LocalDateTime end, NewsDTO after, int size);
+
+	NewsDTO getNewsById(Long id);
+
+	NewsDTO createNews(NewsDTO newsDTO);
+
+	NewsDTO updateNews(Long id, NewsDTO newsDTO);
 
 	void deleteNews(Long id);
 
@@ -0,0 +1,12 @@
+package ua.com.zmike.client.service;
+
+import java.util.List;
+import ua.com.zmike.client.dto.NewsDTO;
+
+public interface NewsPublisherService {
+
+	int publish(List<NewsDTO> news);
+
+	void forgetPublished();
+
+}
@@ -4,15 +4,25 @@ import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import ua.com.zmike.client.dto.NewsDTO;
 import ua.com.zmike.client.service.NewsApiService;
 
+/**
+ * Calls the news API over HTTP. The URLs are given as URI templates, so the client spans and metrics
+ * of the requests are grouped by endpoint rather than by the values of their parameters.
+ */
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "client.news-api.mode", havingValue = "remote", matchIfMissing = true)
 public class NewsApiServiceImpl implements NewsApiService {
 
 	private final RestTemplate restTemplate;
@@ -30,29 +40,85 @@ public class NewsApiServiceImpl implements NewsApiService {
 	public List<NewsDTO> getNews(LocalDateTime start, LocalDateTime end) {
 		var timeStart = Timestamp.valueOf(start).getTime();
 		var timeEnd = Timestamp.valueOf(end).getTime();
-		var url = String.format("%s?start=%s&end=%s", newsApiUrl, timeStart, timeEnd);
-		var newsArray = restTemplate.getForObject(url, NewsDTO[].class);
+		var newsArray = restTemplate.getForObject(newsApiUrl + "?start={start}&end={end}", NewsDTO[].class,
+				timeStart, timeEnd);
 		return Arrays.asList(newsArray);
 	}
 
+	/**
+	 * Fetches news within the specified time range without their descriptions.
+	 *
+	 * @param start Start of the time range.
+	 * @param end   End of the time range.
+	 * @return List of news items with empty descriptions.
+	 */
+	public List<NewsDTO> getNewsSummaries(LocalDateTime start, LocalDateTime end) {
+		var timeStart = Timestamp.valueOf(start).getTime();
+		var timeEnd = Timestamp.valueOf(end).getTime();
+		var newsArray = restTemplate.getForObject(newsApiUrl + "?start={start}&end={end}&view=SUMMARY",
+				NewsDTO[].class, timeStart, timeEnd);
+		return Arrays.asList(newsArray);
+	}
+
+	/**
+	 * Fetches one page of the news within the specified time range without their descriptions,
+	 * ordered by publication time and ID. A page shorter than the requested size is the last one.
+	 *
+	 * @param start Start of the time range.
+	 * @param end   End of the time range.
+	 * @param after Last news item of the previous page, or null for the first page.
+	 * @param size  Page size.
+	 * @return List of news items with empty descriptions.
+	 */
+	public List<NewsDTO> getNewsSummaryPage(LocalDateTime start, LocalDateTime end, NewsDTO after, int size) {
+		var timeStart = Timestamp.valueOf(start).getTime();
+		var timeEnd = Timestamp.valueOf(end).getTime();
+		var newsArray = after == null
+				? restTemplate.getForObject(newsApiUrl + "/summaries?start={start}&end={end}&size={size}",
+						NewsDTO[].class, timeStart, timeEnd, size)
+				: restTemplate.getForObject(newsApiUrl
+								+ "/summaries?start={start}&end={end}&afterTime={afterTime}&afterId={afterId}&size={size}",
+						NewsDTO[].class, timeStart, timeEnd, Timestamp.valueOf(after.getPublicationTime()).getTime(),
+						after.getId(), size);
+		return Arrays.asList(newsArray);
+	}
+
+	/**
+	 * Fetches a single news item with all its fields.
+	 *
+	 * @param id ID of the news item.
+	 * @return The news item.
+	 */
+	public NewsDTO getNewsById(Long id) {
+		return restTemplate.getForObject(newsApiUrl + "/{id}", NewsDTO.class, id);
+	}
+
 	/**
 	 * Creates a new news item.
 	 *
 	 * @param newsDTO News item to be created.
+	 * @return The created news item with its ID, or null when the server only queued it (202 Accepted).
 	 */
-	public void createNews(NewsDTO newsDTO) {
-		restTemplate.postForEntity(newsApiUrl, newsDTO, NewsDTO.class);
+	public NewsDTO createNews(NewsDTO newsDTO) {
+		return restTemplate.postForObject(newsApiUrl, newsDTO, NewsDTO.class);
 	}
 
 	/**
 	 * Updates an existing news item.
+	 * When the version of the item is known, it is sent as If-Match, so the update fails
+	 * instead of overwriting a change made by someone else in the meantime.
 	 *
 	 * @param id      ID of the news item to be updated.
 	 * @param newsDTO Updated news data.
+	 * @return The updated news item with its new version.
 	 */
-	public void updateNews(Long id, NewsDTO newsDTO) {
-		var url = String.format("%s/%d", newsApiUrl, id);
-		restTemplate.put(url, newsDTO);
+	public NewsDTO updateNews(Long id, NewsDTO newsDTO) {
+		var headers = new HttpHeaders();
+		if (!Objects.isNull(newsDTO.getVersion())) {
+			headers.setIfMatch(String.format("\"%d\"", newsDTO.getVersion()));
+		}
+		return restTemplate.exchange(newsApiUrl + "/{id}", HttpMethod.PUT, new HttpEntity<>(newsDTO, headers), NewsDTO.class, id)
+				.getBody();
 	}
 
 	/**
@@ -61,8 +127,7 @@ public class NewsApiServiceImpl implements NewsApiService {
 	 * @param id ID of the news item to be deleted.
 	 */
 	public void deleteNews(Long id) {
-		var url = String.format("%s/%d", newsApiUrl, id);
-		restTemplate.delete(url);
+		restTemplate.delete(newsApiUrl + "/{id}", id);
 	}
 
 	/**
@@ -74,8 +139,7 @@ public class NewsApiServiceImpl implements NewsApiService {
 	@Override
 	public void deleteNewsBeforeTime(LocalDateTime time) {
 		long beforeTime = Timestamp.valueOf(time).getTime();
-		String url = String.format("%s?time=%d", newsApiUrl, beforeTime);
-		restTemplate.delete(url);
+		restTemplate.delete(newsApiUrl + "?time={time}", beforeTime);
 	}
 
 }
@@ -1,109 +1,124 @@
 package ua.com.zmike.client.service.impl;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import ua.com.zmike.client.crawl.PageFetcher;
 import ua.com.zmike.client.dto.NewsDTO;
+import ua.com.zmike.client.parser.NewsExtraction;
+import ua.com.zmike.client.parser.NewsExtractor;
 import ua.com.zmike.client.service.NewsParserService;
 
+/**
+ * Parses the news of the news site: the list page is fetched for the article links, every article page
+ * is fetched once and handed to the {@link NewsExtractor}. Only the articles published today that fit
+ * the news table are returned.
+ * <p>
+ * A parse run is observed as a "news.crawl" span, with a "news.article.fetch" span per page fetch
+ * and a "news.article.extract" span per article extraction under it.
+ * <p>
+ * The pages are fetched by the configured {@link PageFetcher}, which can record the run or replay a recorded one.
+ */
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class NewsParserServiceImpl implements NewsParserService {
 
+	private final NewsExtractor newsExtractor;
+	private final ObservationRegistry observationRegistry;
+	private final PageFetcher pageFetcher;
+
 	@Value("${client.news-site.url}")
 	private String newsSiteUrl;
 
 	@Value("${client.news-site.selector.news-item}")
 	private String newsSelector;
 
-	@Value("${client.news-site.selector.headline}")
-	private String headlineSelector;
-
-	@Value("${client.news-site.selector.description}")
-	private String descriptionSelector;
-
-	@Value("${client.news-site.selector.publication-time}")
-	private String publicationTimeSelector;
-
 	@Override
 	public List<NewsDTO> parseNewsFromWebsite() {
+		return Observation.createNotStarted("news.crawl", observationRegistry)
+				.lowCardinalityKeyValue("site", newsSiteUrl)
+				.observe(this::parse);
+	}
+
+	private List<NewsDTO> parse() {
 		List<NewsDTO> newsList = new ArrayList<>();
 
 		try {
-			var parentDocument = Jsoup.connect(newsSiteUrl).get();
+			var parentDocument = fetch(newsSiteUrl);
 			var newsElements = parentDocument.select(newsSelector);
+			var todayStart = pageFetcher.fetchTime().toLocalDate().atStartOfDay();
 
 			for (Element newsElement : newsElements) {
-				var newsDetailsLink = newsElement.select("a").attr("href");
+				var href = newsElement.select("a").attr("href");
+				var newsDetailsLink = href.startsWith("http") ? href : newsSiteUrl + href;
 
-				if (!newsDetailsLink.startsWith("http")) {
-					newsDetailsLink = newsSiteUrl + newsDetailsLink;
+				var article = fetchArticle(newsDetailsLink);
+				if (article == null) {
+					continue;
 				}
+				var extraction = extract(newsDetailsLink, article);
 
-				var headline = fetchHeadline(newsDetailsLink);
-				var description = fetchNewsDescription(newsDetailsLink);
-				var publicationTimeText = fetchPublicationTime(newsDetailsLink);
-
-				if (!headline.isEmpty() && !description.isEmpty() && !publicationTimeText.isEmpty()) {
-					var publicationTime = OffsetDateTime.parse(publicationTimeText).toLocalDateTime();
-
-					if (publicationTime.isAfter(LocalDateTime.now().withHour(0).withMinute(0))) {
-						var newsDTO = NewsDTO.builder()
-								.headline(headline)
-								.description(description)
-								.publicationTime(publicationTime)
-								.build();
-
-						newsList.add(newsDTO);
+				if (extraction.isExtracted()) {
+					if (extraction.getDescription().isTruncated()) {
+						log.debug("News description truncated to {} characters: {}",
+								NewsExtraction.DESCRIPTION_MAX_LENGTH, newsDetailsLink);
+					}
+					if (extraction.getPublicationTime().isAfter(todayStart)) {
+						newsList.add(extraction.toDto());
 					}
 				} else {
-					log.warn("News item contains empty fields: headline='{}', description='{}', publicationTime='{}'",
-							headline, description, publicationTimeText);
+					log.warn("News item skipped ({}): link='{}', headline='{}', publicationTime='{}'",
+							extraction.getStatus(), newsDetailsLink, extraction.getHeadline(),
+							extraction.getPublicationTimeText());
 				}
 			}
 		} catch (IOException e) {
 			log.error("Error while parsing news from {}: {}", newsSiteUrl, e.getMessage(), e);
 		} catch (Exception e) {
 			log.error("Unexpected error during parsing: {}", e.getMessage(), e);
+		} finally {
+			pageFetcher.crawlFinished();
 		}
 		return newsList;
 	}
 
-	private String fetchHeadline(String newsLink) {
+	private Document fetchArticle(String newsLink) {
 		try {
-			Document newsDoc = Jsoup.connect(newsLink).get();
-			return newsDoc.select(headlineSelector).text();
+			return fetch(newsLink);
 		} catch (IOException e) {
-			log.error("Error while fetching headline from {}: {}", newsLink, e.getMessage(), e);
-			return "";
+			log.error("Error while fetching news from {}: {}", newsLink, e.getMessage(), e);
+			return null;
 		}
 	}
 
-	private String fetchNewsDescription(String newsLink) {
-		try {
-			Document newsDoc = Jsoup.connect(newsLink).get();
-			return newsDoc.select(descriptionSelector).text();
-		} catch (IOException e) {
-			log.error("Error while fetching news description from {}: {}", newsLink, e.getMessage(), e);
-			return "";
-		}
+	private Document fetch(String url) throws IOException {
+		return Observation.createNotStarted("news.article.fetch", observationRegistry)
+				.highCardinalityKeyValue("url", url)
+				.observeChecked(() -> pageFetcher.fetch(url));
 	}
 
-	private String fetchPublicationTime(String newsLink) {
-		try {
-			Document newsDoc = Jsoup.connect(newsLink).get();
-			return newsDoc.select(publicationTimeSelector).attr("datetime");
-		} catch (IOException e) {
-			log.error("Error while fetching publication time from {}: {}", newsLink, e.getMessage(), e);
-			return "";
+	private NewsExtraction extract(String newsLink, Document article) {
+		var observation = Observation.createNotStarted("news.article.extract", observationRegistry)
+				.highCardinalityKeyValue("url", newsLink)
+				.start();
+		try (var scope = observation.openScope()) {
+			var extraction = newsExtractor.extract(newsLink, article);
+			observation.lowCardinalityKeyValue("status", extraction.getStatus().name());
+			return extraction;
+		} catch (RuntimeException e) {
+			observation.error(e);
+			throw e;
+		} finally {
+			observation.stop();
 		}
 	}
 }
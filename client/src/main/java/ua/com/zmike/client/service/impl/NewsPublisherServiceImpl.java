@@ -0,0 +1,96 @@
+package ua.com.zmike.client.service.impl;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import ua.com.zmike.client.dto.NewsDTO;
+import ua.com.zmike.client.index.ArticleHashTable;
+import ua.com.zmike.client.index.ContentHash;
+import ua.com.zmike.client.service.NewsApiService;
+import ua.com.zmike.client.service.NewsPublisherService;
+
+/**
+ * Publishes the parsed news to the API, skipping the articles that have not changed since they were published.
+ * <p>
+ * Every published article is remembered in an {@link ArticleHashTable} by the hash of its link, with the hash of
+ * its headline and description and the ID of its news entry. An article seen again with the same content is
+ * dropped before any request, an article with changed content updates its news entry instead of creating
+ * a new one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NewsPublisherServiceImpl implements NewsPublisherService {
+
+	private final NewsApiService newsApiService;
+	private final ArticleHashTable publishedArticles = new ArticleHashTable();
+
+	/**
+	 * Creates the new articles and updates the changed ones.
+	 *
+	 * @param news the parsed news with their article links.
+	 * @return the number of news sent to the API.
+	 */
+	@Override
+	public int publish(List<NewsDTO> news) {
+		int created = 0;
+		int updated = 0;
+		int unchanged = 0;
+
+		for (NewsDTO item : news) {
+			var urlHash = ContentHash.of(item.getLink());
+			var contentHash = ContentHash.of(item.getHeadline(), item.getDescription());
+
+			if (publishedArticles.isUnchanged(urlHash, contentHash)) {
+				unchanged++;
+				continue;
+			}
+			try {
+				var newsId = publishedArticles.getNewsId(urlHash);
+				if (newsId != ArticleHashTable.NO_NEWS && update(newsId, item)) {
+					updated++;
+				} else {
+					newsId = idOf(newsApiService.createNews(item));
+					created++;
+				}
+				publishedArticles.put(urlHash, contentHash, newsId);
+			} catch (Exception e) {
+				log.error("Error publishing news {}: {}", item.getLink(), e.getMessage(), e);
+			}
+		}
+		log.info("Published news: {} created, {} updated, {} unchanged", created, updated, unchanged);
+		return created + updated;
+	}
+
+	/**
+	 * Forgets the published articles, e.g. after their news entries have been deleted.
+	 */
+	@Override
+	public void forgetPublished() {
+		publishedArticles.clear();
+	}
+
+	/**
+	 * Returns the ID of a created news entry, or {@link ArticleHashTable#NO_NEWS} when the server only queued it;
+	 * a later change of such an article is then created again and merged by the server as a near-duplicate.
+	 */
+	private static long idOf(NewsDTO created) {
+		return created == null ? ArticleHashTable.NO_NEWS : created.getId();
+	}
+
+	/**
+	 * Updates the news entry of a changed article.
+	 *
+	 * @return false when the news entry no longer exists.
+	 */
+	private boolean update(long newsId, NewsDTO item) {
+		try {
+			newsApiService.updateNews(newsId, item);
+			return true;
+		} catch (HttpClientErrorException.NotFound e) {
+			return false;
+		}
+	}
+}
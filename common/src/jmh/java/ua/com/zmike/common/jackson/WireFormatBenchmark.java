@@ -0,0 +1,97 @@
+package ua.com.zmike.common.jackson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the encoding and decoding of news batches in the JSON wire format (ISO timestamps) with the
+ * Smile binary format ({@link EpochMillisModule} timestamps). The bytes on the wire of every batch, raw and
+ * gzip-compressed as sent by the server, are printed once per trial: ./gradlew :common:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+	private static final TypeReference<List<WireNews>> NEWS_LIST = new TypeReference<>() {
+	};
+
+	/**
+	 * News entry as sent between the client and the server.
+	 */
+	public record WireNews(Long id, String headline, String description, LocalDateTime publicationTime, Long version) {
+	}
+
+	@Param({"10", "1000", "100000"})
+	public int items;
+
+	@Param({"json", "smile"})
+	public String format;
+
+	private ObjectMapper mapper;
+	private List<WireNews> news;
+	private byte[] encoded;
+
+	@Setup
+	public void setUp() throws IOException {
+		mapper = "smile".equals(format)
+				? new SmileMapper().registerModule(new EpochMillisModule())
+				: new ObjectMapper().registerModule(new JavaTimeModule())
+						.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		news = generate(items);
+		encoded = mapper.writeValueAsBytes(news);
+		System.out.printf("%n%s, %d items: %d bytes, %d bytes gzip-compressed%n",
+				format, items, encoded.length, gzippedLength(encoded));
+	}
+
+	@Benchmark
+	public byte[] encode() throws IOException {
+		return mapper.writeValueAsBytes(news);
+	}
+
+	@Benchmark
+	public List<WireNews> decode() throws IOException {
+		return mapper.readValue(encoded, NEWS_LIST);
+	}
+
+	private static List<WireNews> generate(int count) {
+		var random = new SplittableRandom(42);
+		var start = LocalDateTime.of(2024, 10, 1, 0, 0);
+		List<WireNews> news = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			news.add(new WireNews(random.nextLong(1L << 40, 1L << 60),
+					"Headline of the news article number " + i,
+					"Description of the news article, about as long as the captions on the news site. ".repeat(3),
+					start.plusSeconds(random.nextInt(86_400)),
+					(long) random.nextInt(5)));
+		}
+		return news;
+	}
+
+	private static int gzippedLength(byte[] bytes) throws IOException {
+		var output = new ByteArrayOutputStream();
+		try (var gzip = new GZIPOutputStream(output)) {
+			gzip.write(bytes);
+		}
+		return output.size();
+	}
+}
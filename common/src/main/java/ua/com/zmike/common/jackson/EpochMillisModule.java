@@ -0,0 +1,49 @@
+package ua.com.zmike.common.jackson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Jackson module that writes {@link LocalDateTime} values as epoch milliseconds instead of ISO strings.
+ * Used by the compact binary wire format, the conversion matches {@link Timestamp#valueOf(LocalDateTime)}.
+ */
+public class EpochMillisModule extends SimpleModule {
+
+	public EpochMillisModule() {
+		super("EpochMillisModule");
+		addSerializer(LocalDateTime.class, new LocalDateTimeSerializer());
+		addDeserializer(LocalDateTime.class, new LocalDateTimeDeserializer());
+	}
+
+	private static class LocalDateTimeSerializer extends StdScalarSerializer<LocalDateTime> {
+
+		LocalDateTimeSerializer() {
+			super(LocalDateTime.class);
+		}
+
+		@Override
+		public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+			generator.writeNumber(Timestamp.valueOf(value).getTime());
+		}
+	}
+
+	private static class LocalDateTimeDeserializer extends StdScalarDeserializer<LocalDateTime> {
+
+		LocalDateTimeDeserializer() {
+			super(LocalDateTime.class);
+		}
+
+		@Override
+		public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+			return new Timestamp(parser.getLongValue()).toLocalDateTime();
+		}
+	}
+}
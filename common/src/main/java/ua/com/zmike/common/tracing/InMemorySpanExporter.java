@@ -0,0 +1,55 @@
+package ua.com.zmike.common.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent finished spans in memory, e.g. for tests asserting on the recorded spans.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+	private final int capacity;
+	private final Deque<SpanData> spans = new ArrayDeque<>();
+
+	public InMemorySpanExporter(int capacity) {
+		this.capacity = capacity;
+	}
+
+	@Override
+	public synchronized CompletableResultCode export(Collection<SpanData> exported) {
+		for (SpanData span : exported) {
+			if (spans.size() == capacity) {
+				spans.removeFirst();
+			}
+			spans.addLast(span);
+		}
+		return CompletableResultCode.ofSuccess();
+	}
+
+	/**
+	 * Returns the finished spans, the oldest first.
+	 */
+	public synchronized List<SpanData> getFinishedSpans() {
+		return List.copyOf(spans);
+	}
+
+	public synchronized void reset() {
+		spans.clear();
+	}
+
+	@Override
+	public CompletableResultCode flush() {
+		return CompletableResultCode.ofSuccess();
+	}
+
+	@Override
+	public synchronized CompletableResultCode shutdown() {
+		spans.clear();
+		return CompletableResultCode.ofSuccess();
+	}
+}
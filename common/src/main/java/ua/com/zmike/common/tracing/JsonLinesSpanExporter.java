@@ -0,0 +1,94 @@
+package ua.com.zmike.common.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Collection;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exports finished spans to a local file, one JSON object per line, so traces can be inspected
+ * without a collector: the lines of one trace share the "traceId" and are linked by "parentSpanId".
+ */
+@Slf4j
+public class JsonLinesSpanExporter implements SpanExporter {
+
+	private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+	private final ObjectMapper objectMapper;
+	private final Path file;
+	private final BufferedWriter writer;
+
+	public JsonLinesSpanExporter(Path file, ObjectMapper objectMapper) throws IOException {
+		if (file.getParent() != null) {
+			Files.createDirectories(file.getParent());
+		}
+		this.file = file;
+		this.objectMapper = objectMapper;
+		this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+	}
+
+	@Override
+	public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+		try {
+			for (SpanData span : spans) {
+				writer.write(objectMapper.writeValueAsString(toJson(span)));
+				writer.newLine();
+			}
+			writer.flush();
+			return CompletableResultCode.ofSuccess();
+		} catch (IOException e) {
+			log.warn("Failed to export {} spans to {}: {}", spans.size(), file, e.getMessage());
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	@Override
+	public synchronized CompletableResultCode flush() {
+		try {
+			writer.flush();
+			return CompletableResultCode.ofSuccess();
+		} catch (IOException e) {
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	@Override
+	public synchronized CompletableResultCode shutdown() {
+		try {
+			writer.close();
+			return CompletableResultCode.ofSuccess();
+		} catch (IOException e) {
+			return CompletableResultCode.ofFailure();
+		}
+	}
+
+	private ObjectNode toJson(SpanData span) {
+		var json = objectMapper.createObjectNode()
+				.put("traceId", span.getTraceId())
+				.put("spanId", span.getSpanId());
+		if (span.getParentSpanContext().isValid()) {
+			json.put("parentSpanId", span.getParentSpanId());
+		}
+		json.put("service", span.getResource().getAttribute(SERVICE_NAME))
+				.put("name", span.getName())
+				.put("kind", span.getKind().name())
+				.put("start", Instant.ofEpochSecond(0, span.getStartEpochNanos()).toString())
+				.put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1000)
+				.put("status", span.getStatus().getStatusCode().name());
+		var attributes = json.putObject("attributes");
+		span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+		return json;
+	}
+}
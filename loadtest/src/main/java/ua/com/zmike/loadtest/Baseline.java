@@ -0,0 +1,90 @@
+package ua.com.zmike.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stored results of a reference run, used to detect regressions.
+ * Keys are "&lt;OPERATION&gt;.p99" in milliseconds and "&lt;OPERATION&gt;.throughput" in requests per second.
+ */
+@Slf4j
+public class Baseline {
+
+	private static final String P99_SUFFIX = ".p99";
+	private static final String THROUGHPUT_SUFFIX = ".throughput";
+
+	private final Path path;
+	private final double tolerance;
+
+	public Baseline(Path path, double tolerance) {
+		this.path = path;
+		this.tolerance = tolerance;
+	}
+
+	/**
+	 * Compares the results with the stored baseline.
+	 * A result regresses when its p99 latency is higher or its throughput is lower than the baseline
+	 * by more than the tolerance. A missing baseline is reported as a regression, so a run never passes
+	 * without a comparison.
+	 *
+	 * @param results        the recorded latencies per operation.
+	 * @param durationSeconds the duration of the measured phase in seconds.
+	 * @return the descriptions of the regressions, empty when there are none.
+	 */
+	public List<String> findRegressions(Map<Operation, LatencyRecorder> results, double durationSeconds) throws IOException {
+		List<String> regressions = new ArrayList<>();
+		if (!Files.exists(path)) {
+			regressions.add(String.format("baseline %s does not exist, record one on the reference hardware "
+					+ "with -Dloadtest.update-baseline=true", path.toAbsolutePath()));
+			return regressions;
+		}
+
+		var baseline = new Properties();
+		try (Reader reader = Files.newBufferedReader(path)) {
+			baseline.load(reader);
+		}
+
+		results.forEach((operation, recorder) -> {
+			var p99 = recorder.percentileMillis(99);
+			var throughput = recorder.getCount() / durationSeconds;
+			var baselineP99 = baseline.getProperty(operation + P99_SUFFIX);
+			var baselineThroughput = baseline.getProperty(operation + THROUGHPUT_SUFFIX);
+
+			if (baselineP99 != null && p99 > Double.parseDouble(baselineP99) * (1 + tolerance)) {
+				regressions.add(String.format("%s p99 %.2f ms exceeds baseline %s ms", operation, p99, baselineP99));
+			}
+			if (baselineThroughput != null && throughput < Double.parseDouble(baselineThroughput) * (1 - tolerance)) {
+				regressions.add(String.format("%s throughput %.1f req/s is below baseline %s req/s",
+						operation, throughput, baselineThroughput));
+			}
+		});
+		return regressions;
+	}
+
+	/**
+	 * Stores the results as the new baseline.
+	 *
+	 * @param results        the recorded latencies per operation.
+	 * @param durationSeconds the duration of the measured phase in seconds.
+	 */
+	public void store(Map<Operation, LatencyRecorder> results, double durationSeconds) throws IOException {
+		var baseline = new Properties();
+		results.forEach((operation, recorder) -> {
+			baseline.setProperty(operation + P99_SUFFIX, String.format(Locale.ROOT, "%.2f", recorder.percentileMillis(99)));
+			baseline.setProperty(operation + THROUGHPUT_SUFFIX, String.format(Locale.ROOT, "%.1f", recorder.getCount() / durationSeconds));
+		});
+		try (Writer writer = Files.newBufferedWriter(path)) {
+			baseline.store(writer, "news-parser-service REST API load test baseline");
+		}
+		log.info("Baseline stored to {}", path.toAbsolutePath());
+	}
+}
@@ -0,0 +1,132 @@
+package ua.com.zmike.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import ua.com.zmike.client.dto.NewsDTO;
+import ua.com.zmike.client.service.NewsApiService;
+import ua.com.zmike.server.ServerApplication;
+import ua.com.zmike.standalone.LocalNewsApiService;
+
+/**
+ * Compares the ingest throughput of the split deployment (news posted over HTTP to the server on MySQL)
+ * with the single-node deployment (news passed to the server's service in the same JVM, stored in H2).
+ * <p>
+ * Both runs insert the same number of generated news from the same number of threads and report news per second.
+ */
+@Slf4j
+public class IngestBenchmark {
+
+	private static final String MYSQL_IMAGE = "mysql:8.0";
+	private static final String DATABASE_NAME = "news_service_schema";
+	private static final Duration INGESTED_SPAN = Duration.ofHours(1);
+
+	private final int count = Integer.getInteger("ingest.count", 10_000);
+	private final int threads = Integer.getInteger("ingest.threads", 8);
+	private final NewsGenerator generator = new NewsGenerator();
+
+	public static void main(String[] args) throws Exception {
+		var benchmark = new IngestBenchmark();
+		var split = benchmark.runSplit();
+		var local = benchmark.runLocal();
+
+		log.info(String.format("%-12s %12s", "deployment", "news/s"));
+		log.info(String.format("%-12s %12.1f", "split", split));
+		log.info(String.format("%-12s %12.1f", "standalone", local));
+		System.exit(0);
+	}
+
+	/**
+	 * Posts the news to the server over HTTP, the server stores them in a Testcontainers MySQL.
+	 */
+	private double runSplit() throws Exception {
+		try (var mysql = new MySQLContainer<>(DockerImageName.parse(MYSQL_IMAGE)).withDatabaseName(DATABASE_NAME)) {
+			mysql.start();
+			try (var context = new SpringApplicationBuilder(ServerApplication.class)
+					.properties(Map.<String, Object>of(
+							"server.port", "0",
+							"spring.datasource.url", mysql.getJdbcUrl(),
+							"spring.datasource.username", mysql.getUsername(),
+							"spring.datasource.password", mysql.getPassword(),
+							"spring.jpa.properties.hibernate.show_sql", "false",
+							"logging.level.root", "WARN"))
+					.run()) {
+				var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+				var driver = new NewsApiDriver("http://localhost:" + port + "/news",
+						new ObjectMapper().registerModule(new JavaTimeModule()));
+				var publishedAfter = LocalDateTime.now().minus(INGESTED_SPAN);
+				return measure("split", () -> driver.create(generator.generate(publishedAfter)));
+			}
+		}
+	}
+
+	/**
+	 * Passes the news to the server's service through {@link LocalNewsApiService}, stored in an H2 file database.
+	 */
+	private double runLocal() throws Exception {
+		var dataDirectory = Files.createTempDirectory("news-standalone");
+		try (var context = new SpringApplicationBuilder(ServerApplication.class, LocalNewsApiService.class)
+				.web(WebApplicationType.NONE)
+				.properties(Map.<String, Object>of(
+						"spring.config.name", "standalone",
+						"NEWS_DATA_DIR", dataDirectory.toString(),
+						"logging.level.root", "WARN"))
+				.run()) {
+			var newsApiService = context.getBean(NewsApiService.class);
+			var publishedAfter = LocalDateTime.now().minus(INGESTED_SPAN);
+			return measure("standalone", () -> newsApiService.createNews(toNews(generator.generate(publishedAfter))));
+		}
+	}
+
+	/**
+	 * Runs the insert on all threads until the configured number of news is inserted.
+	 *
+	 * @return the number of inserted news per second.
+	 */
+	private double measure(String name, Callable<?> insert) throws Exception {
+		log.info("Ingesting {} news with {} threads ({})", count, threads, name);
+		var remaining = new AtomicInteger(count);
+		var executor = Executors.newFixedThreadPool(threads);
+		var startNanos = System.nanoTime();
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					while (remaining.getAndDecrement() > 0) {
+						insert.call();
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return count / (Duration.ofNanos(System.nanoTime() - startNanos).toMillis() / 1000.0);
+	}
+
+	private static NewsDTO toNews(Map<String, Object> news) {
+		return NewsDTO.builder()
+				.headline((String) news.get("headline"))
+				.description((String) news.get("description"))
+				.publicationTime(LocalDateTime.parse((String) news.get("publicationTime")))
+				.build();
+	}
+}
@@ -0,0 +1,63 @@
+package ua.com.zmike.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Collects the latencies of one operation and computes its percentiles.
+ * Latencies are kept in a growing primitive array, each recording thread holds its own recorder.
+ */
+public class LatencyRecorder {
+
+	private long[] latencies = new long[1024];
+	private int count;
+	private int errors;
+
+	public void record(long latencyNanos) {
+		if (count == latencies.length) {
+			latencies = Arrays.copyOf(latencies, count * 2);
+		}
+		latencies[count++] = latencyNanos;
+	}
+
+	public void recordError() {
+		errors++;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public int getErrors() {
+		return errors;
+	}
+
+	/**
+	 * Merges the latencies of another recorder into this one.
+	 *
+	 * @param other the recorder to merge.
+	 */
+	public void merge(LatencyRecorder other) {
+		if (count + other.count > latencies.length) {
+			latencies = Arrays.copyOf(latencies, count + other.count);
+		}
+		System.arraycopy(other.latencies, 0, latencies, count, other.count);
+		count += other.count;
+		errors += other.errors;
+	}
+
+	/**
+	 * Computes a percentile of the recorded latencies with the nearest-rank method.
+	 *
+	 * @param percentile the percentile between 0 and 100.
+	 * @return the latency in milliseconds, or 0 when nothing was recorded.
+	 */
+	public double percentileMillis(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		var sorted = Arrays.copyOf(latencies, count);
+		Arrays.sort(sorted);
+		var rank = (int) Math.ceil(percentile / 100 * count);
+		return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+	}
+}
@@ -0,0 +1,237 @@
+package ua.com.zmike.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import ua.com.zmike.server.ServerApplication;
+
+/**
+ * Reproducible load test of the news REST API.
+ * <p>
+ * Starts the server against a Testcontainers MySQL, seeds it with generated news and runs a mixed workload
+ * of range reads, by-id reads, ingest and retention deletes ({@link Operation}). Reports p50/p99 latency
+ * and throughput per operation and exits with status 1 when the results regress past the stored {@link Baseline}
+ * or no baseline is stored.
+ * <p>
+ * The oldest {@link #RETENTION_ZONE} of the seeded span is reserved for the retention deletes: the cutoff moves
+ * through it step by step and, once it reaches the end, the zone is seeded again and the cutoff starts over.
+ * The reads only target the rest of the seeded span and the ingested news are published within the last hour,
+ * so the retention never removes the news the other operations work on.
+ */
+@Slf4j
+public class LoadTestApplication {
+
+	private static final String MYSQL_IMAGE = "mysql:8.0";
+	private static final String DATABASE_NAME = "news_service_schema";
+	private static final Duration SEEDED_SPAN = Duration.ofDays(2);
+	private static final Duration RANGE_READ_SPAN = Duration.ofHours(1);
+	private static final Duration RETENTION_ZONE = Duration.ofHours(6);
+	private static final Duration RETENTION_STEP = Duration.ofMinutes(10);
+	private static final Duration INGESTED_SPAN = Duration.ofHours(1);
+
+	private final LoadTestSettings settings;
+	private final NewsApiDriver driver;
+	private final NewsGenerator generator = new NewsGenerator();
+	private final List<Long> seededIds = new ArrayList<>();
+	private LocalDateTime seedStart;
+	private long readZoneFrom;
+	private long retentionCutoff;
+
+	private LoadTestApplication(LoadTestSettings settings, NewsApiDriver driver) {
+		this.settings = settings;
+		this.driver = driver;
+	}
+
+	public static void main(String[] args) throws Exception {
+		var settings = LoadTestSettings.fromSystemProperties();
+		boolean passed;
+
+		try (var mysql = new MySQLContainer<>(DockerImageName.parse(MYSQL_IMAGE)).withDatabaseName(DATABASE_NAME)) {
+			mysql.start();
+			try (var context = startServer(mysql)) {
+				var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+				var objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+				var driver = new NewsApiDriver("http://localhost:" + port + "/news", objectMapper);
+				passed = new LoadTestApplication(settings, driver).run();
+			}
+		}
+		System.exit(passed ? 0 : 1);
+	}
+
+	private static ConfigurableApplicationContext startServer(MySQLContainer<?> mysql) {
+		return new SpringApplicationBuilder(ServerApplication.class)
+				.properties(Map.<String, Object>of(
+						"server.port", "0",
+						"spring.datasource.url", mysql.getJdbcUrl(),
+						"spring.datasource.username", mysql.getUsername(),
+						"spring.datasource.password", mysql.getPassword(),
+						"spring.jpa.properties.hibernate.show_sql", "false",
+						"logging.level.root", "WARN",
+						"logging.level.ua.com.zmike.loadtest", "INFO"))
+				.run();
+	}
+
+	private boolean run() throws Exception {
+		seed();
+
+		log.info("Warming up for {}", settings.getWarmUp());
+		runWorkload(settings.getWarmUp());
+
+		log.info("Running the mixed workload with {} threads for {}", settings.getThreads(), settings.getDuration());
+		var results = runWorkload(settings.getDuration());
+		var durationSeconds = settings.getDuration().toMillis() / 1000.0;
+		report(results, durationSeconds);
+
+		var baseline = new Baseline(settings.getBaseline(), settings.getTolerance());
+		if (settings.isUpdateBaseline()) {
+			baseline.store(results, durationSeconds);
+			return true;
+		}
+		var regressions = baseline.findRegressions(results, durationSeconds);
+		regressions.forEach(regression -> log.error("Regression: {}", regression));
+		return regressions.isEmpty();
+	}
+
+	/**
+	 * Inserts the configured number of generated news spread over the seeded span, in parallel.
+	 * The news of the retention zone are seeded separately, proportionally to its share of the span.
+	 */
+	private void seed() throws Exception {
+		seedStart = LocalDateTime.now().minus(SEEDED_SPAN);
+		var readZoneStart = seedStart.plus(RETENTION_ZONE);
+		readZoneFrom = Timestamp.valueOf(readZoneStart).getTime();
+
+		log.info("Seeding {} news", settings.getRows());
+		var ids = new ConcurrentLinkedQueue<Long>();
+		var remaining = new AtomicInteger(settings.getRows());
+		runInParallel(() -> {
+			while (remaining.getAndDecrement() > 0) {
+				ids.add(driver.create(generator.generate(readZoneStart)));
+			}
+			return null;
+		});
+		seededIds.addAll(ids);
+		seedRetentionZone();
+		log.info("Seeded {} news", seededIds.size());
+	}
+
+	/**
+	 * Inserts news into the retention zone and moves the retention cutoff back to its start.
+	 */
+	private void seedRetentionZone() throws Exception {
+		var zoneEnd = seedStart.plus(RETENTION_ZONE);
+		var zoneRows = Math.max(settings.getRows() * RETENTION_ZONE.toMinutes() / SEEDED_SPAN.toMinutes(), 1);
+		for (long i = 0; i < zoneRows; i++) {
+			driver.create(generator.generate(seedStart, zoneEnd));
+		}
+		retentionCutoff = Timestamp.valueOf(seedStart).getTime();
+	}
+
+	/**
+	 * Moves the retention cutoff by one step. When the cutoff has passed the retention zone, the zone is seeded
+	 * again first; the caller does not time this call, so the reseeding is not part of the recorded latencies.
+	 *
+	 * @return the cutoff of the next retention delete.
+	 */
+	private synchronized long nextRetentionCutoff() throws Exception {
+		if (retentionCutoff + RETENTION_STEP.toMillis() > readZoneFrom) {
+			seedRetentionZone();
+		}
+		retentionCutoff += RETENTION_STEP.toMillis();
+		return retentionCutoff;
+	}
+
+	/**
+	 * Runs the mixed workload on all threads until the given duration elapses.
+	 *
+	 * @param duration the duration of the run.
+	 * @return the recorded latencies per operation.
+	 */
+	private Map<Operation, LatencyRecorder> runWorkload(Duration duration) throws Exception {
+		var deadline = System.nanoTime() + duration.toNanos();
+		var threadResults = runInParallel(() -> {
+			Map<Operation, LatencyRecorder> recorders = newRecorders();
+			while (System.nanoTime() < deadline) {
+				var operation = Operation.pick(ThreadLocalRandom.current().nextInt(100));
+				try {
+					var retentionCutoff = operation == Operation.RETENTION_DELETE ? nextRetentionCutoff() : 0;
+					var startNanos = System.nanoTime();
+					execute(operation, retentionCutoff);
+					recorders.get(operation).record(System.nanoTime() - startNanos);
+				} catch (Exception e) {
+					recorders.get(operation).recordError();
+				}
+			}
+			return recorders;
+		});
+
+		Map<Operation, LatencyRecorder> results = newRecorders();
+		threadResults.forEach(recorders -> recorders.forEach((operation, recorder) -> results.get(operation).merge(recorder)));
+		return results;
+	}
+
+	private void execute(Operation operation, long retentionCutoff) throws Exception {
+		var random = ThreadLocalRandom.current();
+		switch (operation) {
+			case RANGE_READ -> {
+				var span = RANGE_READ_SPAN.toMillis();
+				var start = random.nextLong(readZoneFrom, System.currentTimeMillis() - span);
+				driver.getRange(start, start + span);
+			}
+			case BY_ID_READ -> driver.getById(seededIds.get(random.nextInt(seededIds.size())));
+			case INGEST -> driver.create(generator.generate(LocalDateTime.now().minus(INGESTED_SPAN)));
+			case RETENTION_DELETE -> driver.deleteBefore(retentionCutoff);
+		}
+	}
+
+	private <T> List<T> runInParallel(Callable<T> task) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(settings.getThreads());
+		try {
+			List<Future<T>> futures = new ArrayList<>();
+			for (int i = 0; i < settings.getThreads(); i++) {
+				futures.add(executor.submit(task));
+			}
+			List<T> results = new ArrayList<>();
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void report(Map<Operation, LatencyRecorder> results, double durationSeconds) {
+		log.info(String.format("%-18s %10s %10s %10s %12s %8s", "operation", "requests", "p50 ms", "p99 ms", "req/s", "errors"));
+		results.forEach((operation, recorder) -> log.info(String.format("%-18s %10d %10.2f %10.2f %12.1f %8d",
+				operation, recorder.getCount(), recorder.percentileMillis(50), recorder.percentileMillis(99),
+				recorder.getCount() / durationSeconds, recorder.getErrors())));
+	}
+
+	private static Map<Operation, LatencyRecorder> newRecorders() {
+		Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+		for (Operation operation : Operation.values()) {
+			recorders.put(operation, new LatencyRecorder());
+		}
+		return recorders;
+	}
+}
@@ -0,0 +1,34 @@
+package ua.com.zmike.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Parameters of a load test run, read from the "loadtest.*" system properties.
+ */
+@Getter
+@Builder
+public class LoadTestSettings {
+
+	private final int rows;
+	private final int threads;
+	private final Duration warmUp;
+	private final Duration duration;
+	private final Path baseline;
+	private final double tolerance;
+	private final boolean updateBaseline;
+
+	public static LoadTestSettings fromSystemProperties() {
+		return LoadTestSettings.builder()
+				.rows(Integer.getInteger("loadtest.rows", 10_000))
+				.threads(Integer.getInteger("loadtest.threads", 32))
+				.warmUp(Duration.parse(System.getProperty("loadtest.warm-up", "PT15S")))
+				.duration(Duration.parse(System.getProperty("loadtest.duration", "PT60S")))
+				.baseline(Path.of(System.getProperty("loadtest.baseline", "baseline.properties")))
+				.tolerance(Double.parseDouble(System.getProperty("loadtest.tolerance", "0.2")))
+				.updateBaseline(Boolean.getBoolean("loadtest.update-baseline"))
+				.build();
+	}
+}
@@ -0,0 +1,90 @@
+package ua.com.zmike.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Plain {@link HttpClient} driver of the news REST API.
+ */
+public class NewsApiDriver {
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private final HttpClient httpClient;
+	private final ObjectMapper objectMapper;
+	private final String newsApiUrl;
+
+	public NewsApiDriver(String newsApiUrl, ObjectMapper objectMapper) {
+		this.httpClient = HttpClient.newBuilder()
+				.connectTimeout(REQUEST_TIMEOUT)
+				.build();
+		this.objectMapper = objectMapper;
+		this.newsApiUrl = newsApiUrl;
+	}
+
+	/**
+	 * Creates a news entry.
+	 *
+	 * @param news the news entry as a JSON-ready map.
+	 * @return the ID of the created entry.
+	 */
+	public long create(Map<String, Object> news) throws IOException, InterruptedException {
+		var request = newRequest(newsApiUrl)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(news)))
+				.build();
+		var response = send(request);
+		return objectMapper.readTree(response.body()).get("id").asLong();
+	}
+
+	public void getRange(long start, long end) throws IOException, InterruptedException {
+		send(newRequest(String.format("%s?start=%d&end=%d", newsApiUrl, start, end)).GET().build());
+	}
+
+	/**
+	 * Reads a news entry by its ID. Entries removed by the retention deletes answer with 404, which is expected.
+	 */
+	public void getById(long id) throws IOException, InterruptedException {
+		var request = newRequest(String.format("%s/%d", newsApiUrl, id)).GET().build();
+		var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+		if (response.statusCode() != 200 && response.statusCode() != 404) {
+			throw new IOException("Unexpected status " + response.statusCode() + " for " + request.uri());
+		}
+	}
+
+	/**
+	 * Searches news by text.
+	 *
+	 * @return the number of news in the returned page.
+	 */
+	public int search(String query, int page, int size) throws IOException, InterruptedException {
+		var url = String.format("%s/search?q=%s&page=%d&size=%d",
+				newsApiUrl, URLEncoder.encode(query, StandardCharsets.UTF_8), page, size);
+		var response = send(newRequest(url).GET().build());
+		return objectMapper.readTree(response.body()).size();
+	}
+
+	public void deleteBefore(long time) throws IOException, InterruptedException {
+		send(newRequest(String.format("%s?time=%d", newsApiUrl, time)).DELETE().build());
+	}
+
+	private HttpRequest.Builder newRequest(String url) {
+		return HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT);
+	}
+
+	private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+		var response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+		if (response.statusCode() >= 400) {
+			throw new IOException("Unexpected status " + response.statusCode() + " for " + request.uri());
+		}
+		return response;
+	}
+}
@@ -0,0 +1,70 @@
+package ua.com.zmike.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates random news entries to seed the server and to ingest during the workload.
+ * Texts are built from a fixed vocabulary, so generated stories do not collide as near-duplicates.
+ */
+public class NewsGenerator {
+
+	private static final String[] WORDS = {
+			"government", "parliament", "economy", "energy", "market", "football", "weather", "science",
+			"technology", "health", "education", "transport", "city", "region", "border", "agreement",
+			"election", "budget", "company", "startup", "festival", "museum", "court", "police",
+			"minister", "president", "report", "research", "space", "ocean", "climate", "harvest",
+			"bank", "currency", "export", "import", "factory", "airport", "railway", "bridge",
+			"hospital", "vaccine", "university", "students", "teachers", "concert", "film", "award",
+			"record", "championship", "team", "coach", "storm", "flood", "drought", "fire",
+			"investment", "inflation", "tax", "reform", "summit", "treaty", "aid", "volunteers"
+	};
+
+	private static final int HEADLINE_WORDS = 8;
+	private static final int DESCRIPTION_WORDS = 60;
+
+	/**
+	 * Generates a news entry published at a random moment between the given time and now.
+	 *
+	 * @param publishedAfter the earliest publication time.
+	 * @return the news entry as a JSON-ready map.
+	 */
+	public Map<String, Object> generate(LocalDateTime publishedAfter) {
+		return generate(publishedAfter, LocalDateTime.now());
+	}
+
+	/**
+	 * Generates a news entry published at a random moment between the given times.
+	 *
+	 * @param publishedAfter  the earliest publication time.
+	 * @param publishedBefore the latest publication time.
+	 * @return the news entry as a JSON-ready map.
+	 */
+	public Map<String, Object> generate(LocalDateTime publishedAfter, LocalDateTime publishedBefore) {
+		var random = ThreadLocalRandom.current();
+		var spanSeconds = Math.max(Duration.between(publishedAfter, publishedBefore).toSeconds(), 1);
+
+		return Map.of(
+				"headline", words(HEADLINE_WORDS, 100),
+				"description", words(DESCRIPTION_WORDS, 1000),
+				"publicationTime", publishedAfter.plusSeconds(random.nextLong(spanSeconds)).toString());
+	}
+
+	private String words(int count, int maxLength) {
+		var random = ThreadLocalRandom.current();
+		var text = new StringBuilder();
+		for (int i = 0; i < count; i++) {
+			var word = WORDS[random.nextInt(WORDS.length)];
+			if (text.length() + word.length() + 1 > maxLength) {
+				break;
+			}
+			if (!text.isEmpty()) {
+				text.append(' ');
+			}
+			text.append(word);
+		}
+		return text.toString();
+	}
+}
@@ -0,0 +1,37 @@
+package ua.com.zmike.loadtest;
+
+/**
+ * Operations of the mixed workload with their share of the requests.
+ */
+public enum Operation {
+
+	RANGE_READ(50),
+	BY_ID_READ(35),
+	INGEST(14),
+	RETENTION_DELETE(1);
+
+	private static final int TOTAL_WEIGHT = 100;
+
+	private final int weight;
+
+	Operation(int weight) {
+		this.weight = weight;
+	}
+
+	/**
+	 * Picks the operation for a random number, proportionally to the operation weights.
+	 *
+	 * @param random a number between 0 (inclusive) and 100 (exclusive).
+	 * @return the picked operation.
+	 */
+	public static Operation pick(int random) {
+		var threshold = 0;
+		for (Operation operation : values()) {
+			threshold += operation.weight;
+			if (random < threshold) {
+				return operation;
+			}
+		}
+		throw new IllegalArgumentException("Random number must be below " + TOTAL_WEIGHT + ": " + random);
+	}
+}
@@ -0,0 +1,219 @@
+package ua.com.zmike.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.utility.DockerImageName;
+import ua.com.zmike.server.ServerApplication;
+
+/**
+ * Checks the read/write routing of the server between a primary and a replica MySQL.
+ * <p>
+ * Starts two Testcontainers MySQL instances with GTID replication from the primary to the replica and the server
+ * on both. The replication is then stopped, so the replica is visibly stale, and a news entry published outside
+ * the hot window is created by one client. The check expects:
+ * <ul>
+ *     <li>the writing client, sending back its read-your-writes token, to read the entry from the primary;</li>
+ *     <li>another client, without a token, to read from the replica and not see it, although a write just happened;</li>
+ *     <li>the writing client to be routed to the replica again once the read-your-writes window has passed;</li>
+ *     <li>every client to see the entry once the replication is resumed.</li>
+ * </ul>
+ * Exits with status 1 when any of them fails.
+ */
+@Slf4j
+public class ReplicaRoutingCheck {
+
+	private static final String MYSQL_IMAGE = "mysql:8.0";
+	private static final String DATABASE_NAME = "news_service_schema";
+	private static final String PRIMARY_ALIAS = "primary";
+	private static final String LAST_WRITE_HEADER = "X-News-Last-Write";
+	private static final Duration READ_YOUR_WRITES_WINDOW = Duration.ofSeconds(2);
+	private static final Duration REPLICATION_TIMEOUT = Duration.ofSeconds(30);
+	private static final Duration PUBLISHED_AGO = Duration.ofDays(10);
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<String> failures = new ArrayList<>();
+	private final MySQLContainer<?> primary;
+	private final MySQLContainer<?> replica;
+	private String newsApiUrl;
+
+	private ReplicaRoutingCheck(MySQLContainer<?> primary, MySQLContainer<?> replica) {
+		this.primary = primary;
+		this.replica = replica;
+	}
+
+	public static void main(String[] args) throws Exception {
+		boolean passed;
+		try (var network = Network.newNetwork();
+			 var primary = newMySql(network, 1).withNetworkAliases(PRIMARY_ALIAS);
+			 var replica = newMySql(network, 2)) {
+			primary.start();
+			replica.start();
+			passed = new ReplicaRoutingCheck(primary, replica).run();
+		}
+		System.exit(passed ? 0 : 1);
+	}
+
+	private static MySQLContainer<?> newMySql(Network network, int serverId) {
+		return new MySQLContainer<>(DockerImageName.parse(MYSQL_IMAGE))
+				.withDatabaseName(DATABASE_NAME)
+				.withNetwork(network)
+				.withCommand("--server-id=" + serverId, "--log-bin=mysql-bin",
+						"--gtid-mode=ON", "--enforce-gtid-consistency=ON");
+	}
+
+	private boolean run() throws Exception {
+		startReplication();
+
+		try (var context = new SpringApplicationBuilder(ServerApplication.class)
+				.properties(Map.<String, Object>of(
+						"server.port", "0",
+						"spring.datasource.url", primary.getJdbcUrl(),
+						"spring.datasource.username", primary.getUsername(),
+						"spring.datasource.password", primary.getPassword(),
+						"news.datasource.replica.url", replica.getJdbcUrl(),
+						"news.datasource.replica.read-your-writes-window", READ_YOUR_WRITES_WINDOW.toMillis() + "ms",
+						"spring.jpa.properties.hibernate.show_sql", "false",
+						"logging.level.root", "WARN",
+						"logging.level.ua.com.zmike.loadtest", "INFO"))
+				.run()) {
+			var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			newsApiUrl = "http://localhost:" + port + "/news";
+			awaitReplica();
+
+			execute(replica, "STOP REPLICA");
+			var publicationTime = LocalDateTime.now().minus(PUBLISHED_AGO).withNano(0);
+			var created = create(publicationTime);
+			var token = created.headers().firstValue(LAST_WRITE_HEADER).orElse(null);
+			var id = objectMapper.readTree(created.body()).get("id").asLong();
+			check(token != null, "the write answers with the " + LAST_WRITE_HEADER + " token");
+
+			check(getById(id, token) == 200, "the writing client reads its news from the primary");
+			check(rangeContains(id, publicationTime, token), "the writing client finds its news in a range read");
+			check(getById(id, null) == 404, "another client reads by id from the stale replica");
+			check(!rangeContains(id, publicationTime, null), "another client reads the range from the stale replica");
+
+			Thread.sleep(READ_YOUR_WRITES_WINDOW.plusMillis(500).toMillis());
+			check(getById(id, token) == 404, "the writing client is back on the replica after the window");
+
+			execute(replica, "START REPLICA");
+			awaitReplica();
+			check(getById(id, null) == 200, "every client reads the news once it is replicated");
+		}
+		failures.forEach(failure -> log.error("Failed: {}", failure));
+		return failures.isEmpty();
+	}
+
+	/**
+	 * Makes the replica follow the primary from its current GTID position; both start with the same
+	 * database and user created by the image, which are not replicated.
+	 */
+	private void startReplication() throws SQLException {
+		var primaryGtids = queryGtids(primary);
+		execute(replica, "RESET MASTER");
+		execute(replica, "SET GLOBAL gtid_purged = '" + primaryGtids + "'");
+		execute(replica, String.format("CHANGE REPLICATION SOURCE TO SOURCE_HOST = '%s', SOURCE_PORT = 3306, "
+						+ "SOURCE_USER = 'root', SOURCE_PASSWORD = '%s', SOURCE_AUTO_POSITION = 1, GET_SOURCE_PUBLIC_KEY = 1",
+				PRIMARY_ALIAS, primary.getPassword()));
+		execute(replica, "START REPLICA");
+	}
+
+	private void awaitReplica() throws SQLException {
+		var primaryGtids = queryGtids(primary);
+		try (var connection = rootConnection(replica);
+			 var statement = connection.prepareStatement("SELECT WAIT_FOR_EXECUTED_GTID_SET(?, ?)")) {
+			statement.setString(1, primaryGtids);
+			statement.setLong(2, REPLICATION_TIMEOUT.toSeconds());
+			try (var result = statement.executeQuery()) {
+				if (!result.next() || result.getInt(1) != 0) {
+					throw new IllegalStateException("The replica has not caught up within " + REPLICATION_TIMEOUT);
+				}
+			}
+		}
+	}
+
+	private static String queryGtids(MySQLContainer<?> mysql) throws SQLException {
+		try (var connection = rootConnection(mysql);
+			 var statement = connection.createStatement();
+			 var result = statement.executeQuery("SELECT @@GLOBAL.gtid_executed")) {
+			result.next();
+			return result.getString(1).replace("\n", "");
+		}
+	}
+
+	private static void execute(MySQLContainer<?> mysql, String sql) throws SQLException {
+		try (var connection = rootConnection(mysql);
+			 var statement = connection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+
+	private static Connection rootConnection(MySQLContainer<?> mysql) throws SQLException {
+		return DriverManager.getConnection(mysql.getJdbcUrl(), "root", mysql.getPassword());
+	}
+
+	private HttpResponse<String> create(LocalDateTime publicationTime) throws IOException, InterruptedException {
+		var news = Map.of(
+				"headline", "Replica routing check",
+				"description", "Written to the primary while the replication is stopped",
+				"publicationTime", publicationTime.toString());
+		var request = HttpRequest.newBuilder(URI.create(newsApiUrl))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(news)))
+				.build();
+		var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 201) {
+			throw new IOException("Unexpected status " + response.statusCode() + " for " + request.uri());
+		}
+		return response;
+	}
+
+	private int getById(long id, String token) throws IOException, InterruptedException {
+		return send(newsApiUrl + "/" + id, token).statusCode();
+	}
+
+	private boolean rangeContains(long id, LocalDateTime publicationTime, String token)
+			throws IOException, InterruptedException {
+		var time = Timestamp.valueOf(publicationTime).getTime();
+		var response = send(String.format("%s?start=%d&end=%d", newsApiUrl, time - 1000, time + 1000), token);
+		for (var news : objectMapper.readTree(response.body())) {
+			if (news.get("id").asLong() == id) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private HttpResponse<String> send(String url, String token) throws IOException, InterruptedException {
+		var request = HttpRequest.newBuilder(URI.create(url)).GET();
+		if (token != null) {
+			request.header(LAST_WRITE_HEADER, token);
+		}
+		return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private void check(boolean passed, String expectation) {
+		log.info("{}: {}", passed ? "OK" : "FAILED", expectation);
+		if (!passed) {
+			failures.add(expectation);
+		}
+	}
+}
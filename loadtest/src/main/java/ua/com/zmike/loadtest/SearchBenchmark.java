@@ -0,0 +1,232 @@
+package ua.com.zmike.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+import ua.com.zmike.server.ServerApplication;
+
+/**
+ * Measures the latency of the full-text search (GET /news/search) over a generated corpus of millions of news.
+ * <p>
+ * The corpus is inserted straight into the news table of a Testcontainers MySQL with batched JDBC inserts,
+ * with the FULLTEXT index dropped during the load and rebuilt afterwards. The words follow a Zipf distribution
+ * over a generated vocabulary, so the queries range from rare words matching a few rows to common ones
+ * matching a large part of the table. Reports p50/p99 latency and throughput of one- and two-word queries.
+ */
+@Slf4j
+public class SearchBenchmark {
+
+	private static final String MYSQL_IMAGE = "mysql:8.0";
+	private static final String DATABASE_NAME = "news_service_schema";
+	private static final String FULLTEXT_INDEX = "ft_news_headline_description";
+	private static final Duration CORPUS_SPAN = Duration.ofDays(30);
+	private static final int INSERT_BATCH_SIZE = 5_000;
+	private static final int HEADLINE_WORDS = 8;
+	private static final int DESCRIPTION_WORDS = 60;
+	private static final int MAX_PAGE = 4;
+	private static final int PAGE_SIZE = 20;
+
+	private final int rows = Integer.getInteger("search.rows", 1_000_000);
+	private final int vocabularySize = Integer.getInteger("search.vocabulary", 50_000);
+	private final int queries = Integer.getInteger("search.queries", 2_000);
+	private final int threads = Integer.getInteger("search.threads", 8);
+	private final String[] vocabulary = new String[vocabularySize];
+	private final double[] cumulativeWeights = new double[vocabularySize];
+
+	public static void main(String[] args) throws Exception {
+		new SearchBenchmark().run();
+		System.exit(0);
+	}
+
+	private SearchBenchmark() {
+		var total = 0.0;
+		for (int rank = 0; rank < vocabularySize; rank++) {
+			vocabulary[rank] = word(rank);
+			total += 1.0 / (rank + 1);
+			cumulativeWeights[rank] = total;
+		}
+	}
+
+	private void run() throws Exception {
+		try (var mysql = new MySQLContainer<>(DockerImageName.parse(MYSQL_IMAGE))
+				.withDatabaseName(DATABASE_NAME)
+				.withUrlParam("rewriteBatchedStatements", "true")) {
+			mysql.start();
+			try (var context = new SpringApplicationBuilder(ServerApplication.class)
+					.properties(Map.<String, Object>of(
+							"server.port", "0",
+							"spring.datasource.url", mysql.getJdbcUrl(),
+							"spring.datasource.username", mysql.getUsername(),
+							"spring.datasource.password", mysql.getPassword(),
+							"spring.jpa.properties.hibernate.show_sql", "false",
+							"news.hot-window.enabled", "false",
+							"logging.level.root", "WARN",
+							"logging.level.ua.com.zmike.loadtest", "INFO"))
+					.run()) {
+				seed(mysql);
+
+				var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+				var driver = new NewsApiDriver("http://localhost:" + port + "/news",
+						new ObjectMapper().registerModule(new JavaTimeModule()));
+				measure("warm-up", driver, 1, queries / 4);
+				measure("one word", driver, 1, queries);
+				measure("two words", driver, 2, queries);
+			}
+		}
+	}
+
+	/**
+	 * Inserts the generated corpus into the news table, which the server has created on startup.
+	 */
+	private void seed(MySQLContainer<?> mysql) throws SQLException {
+		log.info("Seeding {} news over a vocabulary of {} words", rows, vocabularySize);
+		var startNanos = System.nanoTime();
+		try (var connection = DriverManager.getConnection(mysql.getJdbcUrl(), mysql.getUsername(), mysql.getPassword());
+			 var statement = connection.createStatement()) {
+			statement.execute("ALTER TABLE news DROP INDEX " + FULLTEXT_INDEX);
+			connection.setAutoCommit(false);
+
+			var random = new SplittableRandom(42);
+			var corpusEnd = System.currentTimeMillis() - Duration.ofDays(3).toMillis();
+			var corpusStart = corpusEnd - CORPUS_SPAN.toMillis();
+			try (var insert = connection.prepareStatement(
+					"INSERT INTO news (id, headline, description, publication_time, version) VALUES (?, ?, ?, ?, 0)")) {
+				for (int id = 1; id <= rows; id++) {
+					insert.setLong(1, id);
+					insert.setString(2, text(random, HEADLINE_WORDS, 100));
+					insert.setString(3, text(random, DESCRIPTION_WORDS, 1000));
+					insert.setTimestamp(4, new Timestamp(random.nextLong(corpusStart, corpusEnd)));
+					insert.addBatch();
+					if (id % INSERT_BATCH_SIZE == 0 || id == rows) {
+						insert.executeBatch();
+						connection.commit();
+					}
+				}
+			}
+
+			log.info("Inserted {} news in {} s, rebuilding the FULLTEXT index", rows, elapsedSeconds(startNanos));
+			connection.setAutoCommit(true);
+			statement.execute("ALTER TABLE news ADD FULLTEXT INDEX " + FULLTEXT_INDEX + " (headline, description)");
+		}
+		log.info("Corpus ready in {} s", elapsedSeconds(startNanos));
+	}
+
+	/**
+	 * Runs the given number of random queries on all threads and reports their latency percentiles.
+	 */
+	private void measure(String name, NewsApiDriver driver, int queryWords, int count) throws Exception {
+		var remaining = new AtomicInteger(count);
+		var startNanos = System.nanoTime();
+		var threadResults = runInParallel(() -> {
+			var recorder = new LatencyRecorder();
+			while (remaining.getAndDecrement() > 0) {
+				var random = ThreadLocalRandom.current();
+				var query = new StringBuilder(pickWord(random.nextDouble()));
+				for (int i = 1; i < queryWords; i++) {
+					query.append(' ').append(pickWord(random.nextDouble()));
+				}
+				var requestNanos = System.nanoTime();
+				try {
+					driver.search(query.toString(), random.nextInt(MAX_PAGE + 1), PAGE_SIZE);
+					recorder.record(System.nanoTime() - requestNanos);
+				} catch (Exception e) {
+					recorder.recordError();
+				}
+			}
+			return recorder;
+		});
+		var seconds = Duration.ofNanos(System.nanoTime() - startNanos).toMillis() / 1000.0;
+
+		var results = new LatencyRecorder();
+		threadResults.forEach(results::merge);
+		log.info(String.format("%-10s %8d queries %10.2f p50 ms %10.2f p99 ms %10.1f q/s %6d errors",
+				name, results.getCount(), results.percentileMillis(50), results.percentileMillis(99),
+				results.getCount() / seconds, results.getErrors()));
+	}
+
+	private <T> List<T> runInParallel(Callable<T> task) throws Exception {
+		var executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<T>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(task));
+			}
+			List<T> results = new ArrayList<>();
+			for (Future<T> future : futures) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private String text(SplittableRandom random, int words, int maxLength) {
+		var text = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			var word = pickWord(random.nextDouble());
+			if (text.length() + word.length() + 1 > maxLength) {
+				break;
+			}
+			if (!text.isEmpty()) {
+				text.append(' ');
+			}
+			text.append(word);
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Picks a word of the vocabulary with a Zipf distribution: the word of rank r is drawn with a weight of 1/r.
+	 *
+	 * @param random a number between 0 (inclusive) and 1 (exclusive).
+	 */
+	private String pickWord(double random) {
+		var target = random * cumulativeWeights[vocabularySize - 1];
+		var low = 0;
+		var high = vocabularySize - 1;
+		while (low < high) {
+			var middle = (low + high) >>> 1;
+			if (cumulativeWeights[middle] < target) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return vocabulary[low];
+	}
+
+	/**
+	 * Spells the rank in base 26 with at least four letters, above the minimum token size of the FULLTEXT index.
+	 */
+	private static String word(int rank) {
+		var word = new StringBuilder();
+		var value = rank + 26 * 26 * 26;
+		while (value > 0) {
+			word.append((char) ('a' + value % 26));
+			value /= 26;
+		}
+		return word.toString();
+	}
+
+	private static String elapsedSeconds(long startNanos) {
+		return String.format("%.1f", (System.nanoTime() - startNanos) / 1e9);
+	}
+}
@@ -0,0 +1,121 @@
+package ua.com.zmike.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Measures the time to first request of the server, started from the extracted executable jar
+ * with and without the class data sharing archive produced by the "cdsArchive" task.
+ * <p>
+ * Every run starts a new server process against a Testcontainers MySQL and polls the health endpoint
+ * until it answers; the time from the process start to the first successful answer is recorded.
+ */
+@Slf4j
+public class StartupBenchmark {
+
+	private static final String MYSQL_IMAGE = "mysql:8.0";
+	private static final String DATABASE_NAME = "news_service_schema";
+	private static final int SERVER_PORT = 18080;
+	private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+	private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+	public static void main(String[] args) throws Exception {
+		var jar = Path.of(System.getProperty("startup.jar"));
+		var archive = Path.of(System.getProperty("startup.archive"));
+		var runs = Integer.getInteger("startup.runs", 5);
+
+		try (var mysql = new MySQLContainer<>(DockerImageName.parse(MYSQL_IMAGE)).withDatabaseName(DATABASE_NAME)) {
+			mysql.start();
+			var benchmark = new StartupBenchmark(jar, mysql);
+
+			var withoutCds = benchmark.measure(runs, List.of());
+			report("without CDS", withoutCds);
+			if (Files.exists(archive)) {
+				var withCds = benchmark.measure(runs, List.of("-XX:SharedArchiveFile=" + archive.toAbsolutePath()));
+				report("with CDS", withCds);
+			} else {
+				log.warn("CDS archive {} does not exist, run the cdsArchive task first", archive.toAbsolutePath());
+			}
+		}
+	}
+
+	private final Path jar;
+	private final MySQLContainer<?> mysql;
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	private StartupBenchmark(Path jar, MySQLContainer<?> mysql) {
+		this.jar = jar;
+		this.mysql = mysql;
+	}
+
+	private long[] measure(int runs, List<String> jvmArgs) throws Exception {
+		var timings = new long[runs];
+		for (int run = 0; run < runs; run++) {
+			timings[run] = timeToFirstRequest(jvmArgs);
+		}
+		return timings;
+	}
+
+	private long timeToFirstRequest(List<String> jvmArgs) throws Exception {
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(jvmArgs);
+		command.add("-Dserver.port=" + SERVER_PORT);
+		command.add("-Dspring.datasource.url=" + mysql.getJdbcUrl());
+		command.add("-Dspring.datasource.username=" + mysql.getUsername());
+		command.add("-Dspring.datasource.password=" + mysql.getPassword());
+		command.add("-jar");
+		command.add(jar.toAbsolutePath().toString());
+
+		var startNanos = System.nanoTime();
+		var process = new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.DISCARD)
+				.start();
+		try {
+			var health = HttpRequest.newBuilder(URI.create("http://localhost:" + SERVER_PORT + "/actuator/health")).build();
+			var deadline = startNanos + STARTUP_TIMEOUT.toNanos();
+
+			while (System.nanoTime() < deadline) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException("Server exited with status " + process.exitValue());
+				}
+				if (isUp(health)) {
+					return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+				}
+				Thread.sleep(POLL_INTERVAL.toMillis());
+			}
+			throw new IllegalStateException("Server did not start within " + STARTUP_TIMEOUT);
+		} finally {
+			process.destroy();
+			process.waitFor();
+		}
+	}
+
+	private boolean isUp(HttpRequest health) throws InterruptedException {
+		try {
+			return httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private static void report(String name, long[] timings) {
+		var sorted = timings.clone();
+		Arrays.sort(sorted);
+		log.info("Time to first request {}: min {} ms, median {} ms, max {} ms, runs {}",
+				name, sorted[0], sorted[sorted.length / 2], sorted[sorted.length - 1], Arrays.toString(timings));
+	}
+}
@@ -2,11 +2,17 @@ package ua.com.zmike.server;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class ServerApplication {
 
+	private static final int STARTUP_STEPS_CAPACITY = 4096;
+
 	public static void main(String[] args) {
-		SpringApplication.run(ServerApplication.class, args);
+		var application = new SpringApplication(ServerApplication.class);
+		// startup steps are exposed with their timings by the "startup" actuator endpoint
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
+		application.run(args);
 	}
 }
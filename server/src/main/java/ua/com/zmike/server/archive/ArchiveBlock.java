@@ -0,0 +1,249 @@
+package ua.com.zmike.server.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import ua.com.zmike.server.dto.NewsDTO;
+import ua.com.zmike.server.model.NewsRecord;
+
+/**
+ * One block of an archive file: news of one day from one page archived by a retention run, stored column by column.
+ * <p>
+ * A block is a 32-byte header (magic, row count, first and last publication time in epoch milliseconds,
+ * compressed and uncompressed payload length) followed by the zlib-compressed payload. The payload holds
+ * the columns one after another: IDs and publication times as zigzag varint deltas, versions as varints,
+ * the UTF-8 byte lengths of the headlines and descriptions as varints, then the bytes of all headlines
+ * and of all descriptions. The header is not compressed, so a reader skips the blocks outside of a queried
+ * range without inflating them.
+ */
+final class ArchiveBlock {
+
+	static final int HEADER_SIZE = 32;
+
+	private static final int MAGIC = 0x4E434131;
+	private static final int BUFFER_SIZE = 8192;
+
+	private ArchiveBlock() {
+	}
+
+	record Header(int rowCount, long firstMillis, long lastMillis, int compressedLength, int uncompressedLength) {
+
+		int blockSize() {
+			return HEADER_SIZE + compressedLength;
+		}
+
+		boolean overlaps(long startMillis, long endMillis) {
+			return lastMillis >= startMillis && firstMillis <= endMillis;
+		}
+	}
+
+	/**
+	 * Encodes news ordered by publication time into a block.
+	 *
+	 * @param rows the news to encode, not empty.
+	 * @return the block, ready to be written.
+	 */
+	static ByteBuffer encode(List<NewsRecord> rows) {
+		var ids = new ByteArrayOutputStream();
+		var times = new ByteArrayOutputStream();
+		var versions = new ByteArrayOutputStream();
+		var headlineLengths = new ByteArrayOutputStream();
+		var descriptionLengths = new ByteArrayOutputStream();
+		var headlines = new ByteArrayOutputStream();
+		var descriptions = new ByteArrayOutputStream();
+
+		long previousId = 0;
+		long previousMillis = rows.get(0).getPublicationTime().getTime();
+		var firstMillis = previousMillis;
+		for (NewsRecord row : rows) {
+			var millis = row.getPublicationTime().getTime();
+			writeVarLong(ids, zigzag(row.getId() - previousId));
+			writeVarLong(times, zigzag(millis - previousMillis));
+			writeVarLong(versions, row.getVersion() == null ? 0 : row.getVersion());
+			var headline = row.getHeadline().getBytes(StandardCharsets.UTF_8);
+			writeVarLong(headlineLengths, headline.length);
+			headlines.writeBytes(headline);
+			var description = row.getDescription().getBytes(StandardCharsets.UTF_8);
+			writeVarLong(descriptionLengths, description.length);
+			descriptions.writeBytes(description);
+			previousId = row.getId();
+			previousMillis = millis;
+		}
+
+		var payload = new ByteArrayOutputStream(ids.size() + times.size() + versions.size()
+				+ headlineLengths.size() + descriptionLengths.size() + headlines.size() + descriptions.size());
+		for (ByteArrayOutputStream column : List.of(ids, times, versions, headlineLengths, descriptionLengths,
+				headlines, descriptions)) {
+			payload.writeBytes(column.toByteArray());
+		}
+		var uncompressed = payload.toByteArray();
+		var compressed = deflate(uncompressed);
+
+		return ByteBuffer.allocate(HEADER_SIZE + compressed.length)
+				.putInt(MAGIC)
+				.putInt(rows.size())
+				.putLong(firstMillis)
+				.putLong(previousMillis)
+				.putInt(compressed.length)
+				.putInt(uncompressed.length)
+				.put(compressed)
+				.flip();
+	}
+
+	/**
+	 * Reads the header of the block at the given position.
+	 *
+	 * @param file     the archive file contents.
+	 * @param position the position of the block.
+	 * @return the header, or null when there is no complete block at the position.
+	 */
+	static Header readHeader(ByteBuffer file, int position) {
+		if (position + HEADER_SIZE > file.limit() || file.getInt(position) != MAGIC) {
+			return null;
+		}
+		var header = new Header(file.getInt(position + 4), file.getLong(position + 8), file.getLong(position + 16),
+				file.getInt(position + 24), file.getInt(position + 28));
+		if (header.compressedLength() < 0 || (long) position + header.blockSize() > file.limit()) {
+			return null;
+		}
+		return header;
+	}
+
+	/**
+	 * Decodes the news of a block published between the given times, both inclusive.
+	 * The compressed payload is inflated straight from the given buffer, which may be memory-mapped.
+	 *
+	 * @param header      the header of the block.
+	 * @param file        the archive file contents.
+	 * @param position    the position of the block.
+	 * @param startMillis the start of the range.
+	 * @param endMillis   the end of the range.
+	 * @return the news of the range, ordered by publication time.
+	 */
+	static List<NewsDTO> decode(Header header, ByteBuffer file, int position, long startMillis, long endMillis) {
+		var payload = ByteBuffer.wrap(inflate(file.slice(position + HEADER_SIZE, header.compressedLength()),
+				header.uncompressedLength()));
+		var rowCount = header.rowCount();
+
+		var ids = new long[rowCount];
+		long id = 0;
+		for (int i = 0; i < rowCount; i++) {
+			id += unzigzag(readVarLong(payload));
+			ids[i] = id;
+		}
+		var times = new long[rowCount];
+		var millis = header.firstMillis();
+		for (int i = 0; i < rowCount; i++) {
+			millis += unzigzag(readVarLong(payload));
+			times[i] = millis;
+		}
+		var versions = new long[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			versions[i] = readVarLong(payload);
+		}
+		var headlineLengths = new int[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			headlineLengths[i] = (int) readVarLong(payload);
+		}
+		var descriptionLengths = new int[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			descriptionLengths[i] = (int) readVarLong(payload);
+		}
+
+		var bytes = payload.array();
+		var headlineOffset = payload.position();
+		var descriptionOffset = headlineOffset;
+		for (int length : headlineLengths) {
+			descriptionOffset += length;
+		}
+
+		List<NewsDTO> news = new ArrayList<>();
+		for (int i = 0; i < rowCount; i++) {
+			if (times[i] >= startMillis && times[i] <= endMillis) {
+				news.add(NewsDTO.builder()
+						.id(ids[i])
+						.headline(new String(bytes, headlineOffset, headlineLengths[i], StandardCharsets.UTF_8))
+						.description(new String(bytes, descriptionOffset, descriptionLengths[i], StandardCharsets.UTF_8))
+						.publicationTime(new Timestamp(times[i]).toLocalDateTime())
+						.version(versions[i])
+						.build());
+			}
+			headlineOffset += headlineLengths[i];
+			descriptionOffset += descriptionLengths[i];
+		}
+		return news;
+	}
+
+	private static byte[] deflate(byte[] input) {
+		var deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try {
+			deflater.setInput(input);
+			deflater.finish();
+			var output = new ByteArrayOutputStream(input.length / 4 + 64);
+			var buffer = new byte[BUFFER_SIZE];
+			while (!deflater.finished()) {
+				output.write(buffer, 0, deflater.deflate(buffer));
+			}
+			return output.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static byte[] inflate(ByteBuffer input, int length) {
+		var inflater = new Inflater();
+		try {
+			inflater.setInput(input);
+			var output = new byte[length];
+			var inflated = 0;
+			while (inflated < length && !inflater.finished()) {
+				var count = inflater.inflate(output, inflated, length - inflated);
+				if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				inflated += count;
+			}
+			if (inflated != length) {
+				throw new IllegalStateException("Corrupted archive block: " + inflated + " of " + length + " bytes");
+			}
+			return output;
+		} catch (DataFormatException e) {
+			throw new IllegalStateException("Corrupted archive block", e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private static void writeVarLong(ByteArrayOutputStream output, long value) {
+		while ((value & ~0x7FL) != 0) {
+			output.write((int) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		output.write((int) value);
+	}
+
+	private static long readVarLong(ByteBuffer input) {
+		long value = 0;
+		for (int shift = 0; ; shift += 7) {
+			var b = input.get();
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+	}
+
+	private static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+}
@@ -0,0 +1,175 @@
+package ua.com.zmike.server.archive;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.com.zmike.server.dto.NewsDTO;
+import ua.com.zmike.server.model.NewsRecord;
+
+/**
+ * Archive of the news removed by the retention, kept in one append-only file per publication day
+ * ("news-2024-10-01.nca" in "news.archive.directory"), made of compressed columnar {@link ArchiveBlock}s.
+ * <p>
+ * The retention archives the news page by page: every page is appended as one block per publication day
+ * it contains and forced to disk before the rows of the page are deleted, so a day file holds several blocks.
+ * A block left incomplete by a crash is cut off before the next append. Range reads map the files of the
+ * requested days into memory and inflate only the blocks overlapping the range. When a retention transaction
+ * is rolled back after its blocks have been written, its news are archived again by the next run; reads keep
+ * one copy per news ID.
+ */
+@Slf4j
+@Component
+public class NewsArchive {
+
+	private static final String FILE_PREFIX = "news-";
+	private static final String FILE_SUFFIX = ".nca";
+
+	@Value("${news.archive.enabled}")
+	private boolean enabled;
+
+	@Value("${news.archive.directory}")
+	private Path directory;
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Appends news to the files of their publication days.
+	 *
+	 * @param rows the news ordered by publication time.
+	 */
+	public synchronized void append(List<NewsRecord> rows) {
+		if (!enabled || rows.isEmpty()) {
+			return;
+		}
+		try {
+			Files.createDirectories(directory);
+			var dayStart = 0;
+			for (int i = 1; i <= rows.size(); i++) {
+				if (i == rows.size() || !day(rows.get(i)).equals(day(rows.get(dayStart)))) {
+					appendBlock(day(rows.get(dayStart)), rows.subList(dayStart, i));
+					dayStart = i;
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to archive news to " + directory, e);
+		}
+	}
+
+	/**
+	 * Finds the archived news published between the given times, both inclusive.
+	 *
+	 * @param start the start of the range.
+	 * @param end   the end of the range.
+	 * @return the news ordered by publication time.
+	 */
+	public List<NewsDTO> findBetween(Timestamp start, Timestamp end) {
+		if (!enabled || !Files.isDirectory(directory) || start.after(end)) {
+			return List.of();
+		}
+		Map<Long, NewsDTO> found = new HashMap<>();
+		try {
+			for (Path file : files(start.toLocalDateTime().toLocalDate(), end.toLocalDateTime().toLocalDate())) {
+				read(file, start.getTime(), end.getTime(), found);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to read the news archive " + directory, e);
+		}
+		return found.values().stream()
+				.sorted(Comparator.comparing(NewsDTO::getPublicationTime).thenComparing(NewsDTO::getId))
+				.toList();
+	}
+
+	private void appendBlock(LocalDate day, List<NewsRecord> rows) throws IOException {
+		var file = directory.resolve(FILE_PREFIX + day + FILE_SUFFIX);
+		try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			var end = validLength(channel);
+			if (end < channel.size()) {
+				log.warn("Cutting off an incomplete block at {} of {}", end, file);
+				channel.truncate(end);
+			}
+			var block = ArchiveBlock.encode(rows);
+			var position = end;
+			while (block.hasRemaining()) {
+				position += channel.write(block, position);
+			}
+			channel.force(true);
+		}
+		log.info("Archived {} news of {} to {}", rows.size(), day, file);
+	}
+
+	private void read(Path file, long startMillis, long endMillis, Map<Long, NewsDTO> found) throws IOException {
+		try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if (channel.size() == 0) {
+				return;
+			}
+			var mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			var position = 0;
+			for (var header = ArchiveBlock.readHeader(mapped, position); header != null;
+				 header = ArchiveBlock.readHeader(mapped, position)) {
+				if (header.overlaps(startMillis, endMillis)) {
+					ArchiveBlock.decode(header, mapped, position, startMillis, endMillis)
+							.forEach(news -> found.put(news.getId(), news));
+				}
+				position += header.blockSize();
+			}
+		}
+	}
+
+	/**
+	 * Returns the length of the complete blocks at the start of the file.
+	 */
+	private long validLength(FileChannel channel) throws IOException {
+		if (channel.size() == 0) {
+			return 0;
+		}
+		var mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		var position = 0;
+		for (var header = ArchiveBlock.readHeader(mapped, position); header != null;
+			 header = ArchiveBlock.readHeader(mapped, position)) {
+			position += header.blockSize();
+		}
+		return position;
+	}
+
+	/**
+	 * Lists the archive files of the days between the given ones, both inclusive.
+	 */
+	private List<Path> files(LocalDate startDay, LocalDate endDay) throws IOException {
+		List<Path> files = new ArrayList<>();
+		try (var stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+			for (Path file : stream) {
+				var name = file.getFileName().toString();
+				try {
+					var day = LocalDate.parse(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+					if (!day.isBefore(startDay) && !day.isAfter(endDay)) {
+						files.add(file);
+					}
+				} catch (DateTimeParseException e) {
+					log.warn("Skipping unexpected file in the news archive: {}", file);
+				}
+			}
+		}
+		return files;
+	}
+
+	private static LocalDate day(NewsRecord row) {
+		return row.getPublicationTime().toLocalDateTime().toLocalDate();
+	}
+}
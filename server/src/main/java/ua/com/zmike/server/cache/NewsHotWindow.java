@@ -0,0 +1,228 @@
+package ua.com.zmike.server.cache;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.com.zmike.server.dto.NewsDTO;
+import ua.com.zmike.server.model.News;
+import ua.com.zmike.server.repository.NewsRepository;
+
+/**
+ * In-memory copy of the news published within the hot window (the last "news.hot-window.size", from the start
+ * of its hour), so the range and by-id reads of recent news are answered without SQL.
+ * <p>
+ * News are kept in a skip list ordered by publication time in epoch milliseconds, a range is a sub-map view
+ * found by binary search. The window is warmed from the database before the web server starts accepting
+ * requests and is kept current by the writes of the news service. Its start moves forward by the hour as news
+ * are put, and the news published before the previous start are evicted, so the window holds about its size
+ * of news whether or not the retention job deletes them.
+ * <p>
+ * The window only sees the writes of its own node, so it can not be enabled while more than one node writes
+ * news ("news.id.writers"): it would answer without the news added, updated or deleted by the other nodes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NewsHotWindow implements SmartInitializingSingleton {
+
+	private final NewsRepository newsRepository;
+
+	@Value("${news.hot-window.enabled}")
+	private boolean enabled;
+
+	@Value("${news.hot-window.size}")
+	private Duration size;
+
+	@Value("${news.id.writers}")
+	private int writers;
+
+	private final ConcurrentNavigableMap<WindowKey, HotNews> newsByTime = new ConcurrentSkipListMap<>();
+	private final Map<Long, WindowKey> keysById = new ConcurrentHashMap<>();
+	private volatile long windowStart = Long.MAX_VALUE;
+
+	/**
+	 * Loads the news of the window from the database.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (!enabled) {
+			return;
+		}
+		if (writers > 1) {
+			throw new IllegalStateException("news.hot-window.enabled (NEWS_HOT_WINDOW_ENABLED) must be false when "
+					+ writers + " nodes write news, the window of a node does not see the writes of the others");
+		}
+		var start = startAt(System.currentTimeMillis());
+		var news = newsRepository.findByPublicationTimeGreaterThanEqual(start);
+		news.forEach(this::add);
+		windowStart = start.getTime();
+		log.info("Hot window warmed up with {} news published from {}", news.size(), start);
+	}
+
+	/**
+	 * Checks whether all news published from the given time on are held by the window.
+	 *
+	 * @param start the start of the requested range.
+	 * @return true when the range can be answered from the window.
+	 */
+	public boolean covers(Timestamp start) {
+		return start.getTime() >= windowStart;
+	}
+
+	/**
+	 * Finds the news published between the given times, both inclusive.
+	 *
+	 * @param start the start of the range.
+	 * @param end   the end of the range.
+	 * @return the news ordered by publication time.
+	 */
+	public List<NewsDTO> findBetween(Timestamp start, Timestamp end) {
+		if (start.after(end)) {
+			return List.of();
+		}
+		return newsByTime.subMap(new WindowKey(start.getTime(), Long.MIN_VALUE), true,
+						new WindowKey(end.getTime(), Long.MAX_VALUE), true)
+				.entrySet().stream()
+				.map(entry -> entry.getValue().toDto(entry.getKey()))
+				.toList();
+	}
+
+	/**
+	 * Finds one page of the news published after the given position and up to the given end time, inclusive.
+	 * The page is a tail view of the skip list starting at the position, so only the entries of the page
+	 * are visited and copied out of the window.
+	 *
+	 * @param afterTime the publication time of the last news entry of the previous page.
+	 * @param afterId   the ID of the last news entry of the previous page.
+	 * @param end       the end of the range.
+	 * @param limit     the maximum number of news to return.
+	 * @return the news ordered by publication time and ID.
+	 */
+	public List<NewsDTO> findAfter(Timestamp afterTime, long afterId, Timestamp end, int limit) {
+		var endKey = new WindowKey(end.getTime(), Long.MAX_VALUE);
+		return newsByTime.tailMap(new WindowKey(afterTime.getTime(), afterId), false)
+				.entrySet().stream()
+				.takeWhile(entry -> entry.getKey().compareTo(endKey) <= 0)
+				.limit(limit)
+				.map(entry -> entry.getValue().toDto(entry.getKey()))
+				.toList();
+	}
+
+	/**
+	 * Finds a news entry of the window by its ID.
+	 *
+	 * @param id the ID of the news entry.
+	 * @return the news entry, or empty when it is not held by the window.
+	 */
+	public Optional<NewsDTO> findById(Long id) {
+		return Optional.ofNullable(keysById.get(id))
+				.flatMap(key -> Optional.ofNullable(newsByTime.get(key)).map(news -> news.toDto(key)));
+	}
+
+	/**
+	 * Adds or replaces a news entry. News published before the window are only removed from it.
+	 *
+	 * @param news the saved news entry.
+	 */
+	public void put(News news) {
+		if (!enabled) {
+			return;
+		}
+		advance();
+		remove(news.getId());
+		if (news.getPublicationTime().getTime() >= windowStart) {
+			add(news);
+		}
+	}
+
+	/**
+	 * Removes a news entry by its ID.
+	 *
+	 * @param id the ID of the removed news entry.
+	 */
+	public void remove(Long id) {
+		var key = keysById.remove(id);
+		if (key != null) {
+			newsByTime.remove(key);
+		}
+	}
+
+	/**
+	 * Removes all news published before the given time.
+	 *
+	 * @param time the time before which all news are removed.
+	 */
+	public void removeBefore(Timestamp time) {
+		var expired = newsByTime.headMap(new WindowKey(time.getTime(), Long.MIN_VALUE));
+		expired.keySet().forEach(key -> keysById.remove(key.id()));
+		expired.clear();
+	}
+
+	/**
+	 * Moves the start of the window to the current one once an hour has passed, and evicts the news published
+	 * before the previous start. They are kept for one more hour, so a read that has just found its range
+	 * covered by the previous start still finds them.
+	 */
+	private void advance() {
+		var previousStart = windowStart;
+		if (previousStart == Long.MAX_VALUE) {
+			return;
+		}
+		var start = startAt(System.currentTimeMillis()).getTime();
+		if (start <= previousStart) {
+			return;
+		}
+		synchronized (this) {
+			if (start <= windowStart) {
+				return;
+			}
+			windowStart = start;
+		}
+		removeBefore(new Timestamp(previousStart));
+	}
+
+	private Timestamp startAt(long nowMillis) {
+		return Timestamp.valueOf(new Timestamp(nowMillis - size.toMillis())
+				.toLocalDateTime()
+				.truncatedTo(ChronoUnit.HOURS));
+	}
+
+	private void add(News news) {
+		var key = new WindowKey(news.getPublicationTime().getTime(), news.getId());
+		newsByTime.put(key, new HotNews(news.getHeadline(), news.getDescription(), news.getVersion()));
+		keysById.put(news.getId(), key);
+	}
+
+	private record WindowKey(long publicationMillis, long id) implements Comparable<WindowKey> {
+
+		@Override
+		public int compareTo(WindowKey other) {
+			var byTime = Long.compare(publicationMillis, other.publicationMillis);
+			return byTime != 0 ? byTime : Long.compare(id, other.id);
+		}
+	}
+
+	private record HotNews(String headline, String description, Long version) {
+
+		NewsDTO toDto(WindowKey key) {
+			return NewsDTO.builder()
+					.id(key.id())
+					.headline(headline)
+					.description(description)
+					.publicationTime(new Timestamp(key.publicationMillis()).toLocalDateTime())
+					.version(version)
+					.build();
+		}
+	}
+}
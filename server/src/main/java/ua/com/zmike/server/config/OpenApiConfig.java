@@ -7,12 +7,15 @@ import org.springdoc.core.models.GroupedOpenApi;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
 /**
  * Configuration class for setting up OpenAPI (Swagger) documentation in the project.
  * This class defines the necessary beans to customize the OpenAPI documentation and
  * group API endpoints.
+ * The beans are lazy, so the documentation is only built on the first request to it, not at startup.
  */
+@Lazy
 @EnableCaching
 @Configuration
 public class OpenApiConfig {
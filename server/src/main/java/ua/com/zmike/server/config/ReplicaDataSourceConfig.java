@@ -0,0 +1,94 @@
+package ua.com.zmike.server.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import ua.com.zmike.server.datasource.ReadWriteRoutingDataSource;
+import ua.com.zmike.server.datasource.ReadYourWritesFilter;
+
+/**
+ * Configuration class for routing read-only transactions to a MySQL replica.
+ * Active only when "news.datasource.replica.url" is set, otherwise the single "spring.datasource" is used.
+ */
+@Configuration
+@ConditionalOnProperty("news.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+	/**
+	 * Creates the connection pool of the primary database from the "spring.datasource" properties.
+	 *
+	 * @param properties the "spring.datasource" properties.
+	 * @return the primary {@link HikariDataSource}.
+	 */
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		return properties.initializeDataSourceBuilder()
+				.type(HikariDataSource.class)
+				.build();
+	}
+
+	/**
+	 * Creates the connection pool of the replica database from the "news.datasource.replica" properties.
+	 * Credentials default to the primary ones.
+	 *
+	 * @return the replica {@link HikariDataSource}.
+	 */
+	@Bean
+	@ConfigurationProperties("news.datasource.replica.hikari")
+	public HikariDataSource replicaDataSource(DataSourceProperties properties,
+											  @Value("${news.datasource.replica.url}") String url,
+											  @Value("${news.datasource.replica.username:${spring.datasource.username}}") String username,
+											  @Value("${news.datasource.replica.password:${spring.datasource.password}}") String password) {
+		var dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.driverClassName(properties.determineDriverClassName())
+				.url(url)
+				.username(username)
+				.password(password)
+				.build();
+		dataSource.setPoolName("news-replica");
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	/**
+	 * Creates the data source used by JPA and Liquibase, routing read-only transactions to the replica.
+	 *
+	 * @param primary              the primary database.
+	 * @param replica              the replica database.
+	 * @param readYourWritesWindow the time after a client's write during which its reads still go to the primary.
+	 * @return the routing {@link DataSource}.
+	 */
+	@Bean
+	@Primary
+	public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+								 @Qualifier("replicaDataSource") DataSource replica,
+								 @Value("${news.datasource.replica.read-your-writes-window}") Duration readYourWritesWindow) {
+		return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, readYourWritesWindow));
+	}
+
+	/**
+	 * Registers the filter that carries the read-your-writes token of each client for the "/news/**" paths.
+	 *
+	 * @return the registration of {@link ReadYourWritesFilter}.
+	 */
+	@Bean
+	public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+		var registration = new FilterRegistrationBean<>(new ReadYourWritesFilter());
+		registration.addUrlPatterns("/news", "/news/*");
+		registration.setName("readYourWritesFilter");
+		return registration;
+	}
+}
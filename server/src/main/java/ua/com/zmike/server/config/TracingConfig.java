@@ -0,0 +1,65 @@
+package ua.com.zmike.server.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.ObservationRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import ua.com.zmike.common.tracing.InMemorySpanExporter;
+import ua.com.zmike.common.tracing.JsonLinesSpanExporter;
+import ua.com.zmike.server.tracing.RepositoryObservationInterceptor;
+
+/**
+ * Configuration of the tracing of the news API.
+ * <p>
+ * Spans are recorded by Micrometer Tracing with the OpenTelemetry bridge: the request handling spans and the
+ * W3C trace context propagation ("traceparent" header) are provided by Spring Boot, the repository spans by
+ * {@link RepositoryObservationInterceptor}. Finished spans are exported by the exporter selected with
+ * "news.tracing.exporter": "file" (JSON lines, see {@link JsonLinesSpanExporter}), "memory" or "none".
+ */
+@Configuration
+public class TracingConfig {
+
+	@Bean
+	@ConditionalOnProperty(name = "news.tracing.exporter", havingValue = "file")
+	public JsonLinesSpanExporter jsonLinesSpanExporter(@Value("${news.tracing.file}") Path file,
+													   ObjectMapper objectMapper) throws IOException {
+		return new JsonLinesSpanExporter(file, objectMapper);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = "news.tracing.exporter", havingValue = "memory")
+	public InMemorySpanExporter inMemorySpanExporter(@Value("${news.tracing.memory-capacity}") int capacity) {
+		return new InMemorySpanExporter(capacity);
+	}
+
+	/**
+	 * Adds a {@link RepositoryObservationInterceptor} to the proxies of all Spring Data repositories.
+	 *
+	 * @param observationRegistry the registry, resolved when the first repository method is called.
+	 * @return the post processor of the repository factory beans.
+	 */
+	@Bean
+	public static BeanPostProcessor repositoryObservationPostProcessor(
+			ObjectProvider<ObservationRegistry> observationRegistry) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+					factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+							(proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(
+									new RepositoryObservationInterceptor(
+											observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP),
+											repositoryInformation.getRepositoryInterface()))));
+				}
+				return bean;
+			}
+		};
+	}
+}
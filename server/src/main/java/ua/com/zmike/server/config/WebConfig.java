@@ -0,0 +1,49 @@
+package ua.com.zmike.server.config;
+
+import java.util.List;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ua.com.zmike.common.jackson.EpochMillisModule;
+
+/**
+ * Configuration class for the HTTP layer of the news API.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+	/**
+	 * Adds the Smile binary format ("application/x-jackson-smile") with epoch millisecond timestamps
+	 * to the supported wire formats. It is appended after the JSON converter, so JSON stays the default
+	 * and Smile is only used when the client asks for it in the Accept or Content-Type header.
+	 *
+	 * @param converters the list of configured message converters.
+	 */
+	@Override
+	public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+		var smileMapper = Jackson2ObjectMapperBuilder.smile()
+				.modulesToInstall(new EpochMillisModule())
+				.build();
+		converters.add(new MappingJackson2SmileHttpMessageConverter(smileMapper));
+	}
+
+	/**
+	 * Registers a filter that adds an ETag to the news responses and answers with
+	 * 304 Not Modified when the client already holds the same content (If-None-Match),
+	 * so unchanged range queries are not transferred again.
+	 *
+	 * @return the registration of {@link ShallowEtagHeaderFilter} for the "/news/**" paths.
+	 */
+	@Bean
+	public FilterRegistrationBean<ShallowEtagHeaderFilter> shallowEtagHeaderFilter() {
+		var registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+		registration.addUrlPatterns("/news", "/news/*");
+		registration.setName("newsEtagFilter");
+		return registration;
+	}
+}
@@ -1,23 +1,39 @@
 package ua.com.zmike.server.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import java.sql.Timestamp;
+import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import ua.com.zmike.server.dto.AggregationBucket;
+import ua.com.zmike.server.dto.BulkDeleteDTO;
+import ua.com.zmike.server.dto.BulkResultDTO;
+import ua.com.zmike.server.dto.BulkUpdateDTO;
+import ua.com.zmike.server.dto.NewsCountDTO;
 import ua.com.zmike.server.dto.NewsDTO;
+import ua.com.zmike.server.dto.NewsPatchDTO;
+import ua.com.zmike.server.dto.NewsView;
+import ua.com.zmike.server.exception.PreconditionFailedException;
+import ua.com.zmike.server.ingest.NewsIngestQueue;
+import ua.com.zmike.server.service.NewsAggregationService;
 import ua.com.zmike.server.service.NewsService;
 
 /**
@@ -31,64 +47,230 @@ import ua.com.zmike.server.service.NewsService;
 @RequiredArgsConstructor
 public class NewsController {
 
+	private static final String ANY_VERSION = "*";
+
 	private final NewsService newsService;
+	private final NewsAggregationService aggregationService;
+	private final NewsIngestQueue ingestQueue;
 
 	/**
 	 * Creates a new news entry.
+	 * In the "async" ingest mode the entry is only queued and saved later in a batch: the response is
+	 * 202 Accepted without a body, or 429 Too Many Requests when the queue is full. With the ingest write-ahead log
+	 * an accepted entry survives a restart, but it may be saved twice after a crash, so the ingest is at least once.
 	 *
 	 * @param product the details of the news entry to create, provided as a {@link NewsDTO}.
-	 * @return the created news entry as a {@link NewsDTO}.
+	 * @return the created news entry as a {@link NewsDTO}, or no body when the entry was queued.
 	 */
 	@PostMapping
-	@ResponseStatus(HttpStatus.CREATED)
-	public NewsDTO create(@RequestBody @Valid NewsDTO product) {
+	public ResponseEntity<NewsDTO> create(@RequestBody @Valid NewsDTO product) {
+		if (ingestQueue.isAsync()) {
+			log.debug("Queue News with params: {}", product);
+			ingestQueue.enqueue(product);
+			return ResponseEntity.accepted().build();
+		}
 		log.info("Add News with params: {}", product);
-		return newsService.addOne(product);
+		return ResponseEntity.status(HttpStatus.CREATED).body(newsService.addOne(product));
 	}
 
 	/**
 	 * Retrieves a set of news entries published between the specified start and end times.
+	 * With the SUMMARY view the description is omitted, it can be loaded later by the news ID.
 	 * <p>
 	 * Example:
-	 * GET /news?start=1695643200000&end=1695643300000
+	 * GET /news?start=1695643200000&end=1695643300000&view=SUMMARY
 	 *
 	 * @param start the start time in milliseconds (epoch time).
 	 * @param end   the end time in milliseconds (epoch time).
+	 * @param view  the set of fields to return for each entry, FULL by default.
 	 * @return a set of {@link NewsDTO} representing the news entries found within the time range.
 	 */
 	@GetMapping
-	public Set<NewsDTO> getNews(@RequestParam long start, @RequestParam long end) {
+	public Set<NewsDTO> getNews(@RequestParam long start, @RequestParam long end,
+								@RequestParam(defaultValue = "FULL") NewsView view) {
+		var startTime = new Timestamp(start);
+		var endTime = new Timestamp(end);
+
+		log.info("Find News ({} view) in publication time between {} and {}", view, startTime, endTime);
+		return view == NewsView.SUMMARY
+				? newsService.findSummariesByPublicationTimeBetween(startTime, endTime)
+				: newsService.findByPublicationTimeBetween(startTime, endTime);
+	}
+
+	/**
+	 * Retrieves one page of the news entries published between the specified start and end times,
+	 * without their descriptions. Entries are ordered by publication time and ID; the next page is requested
+	 * with the publication time and ID of the last entry of the previous one, and a page shorter than
+	 * the requested size is the last one.
+	 * <p>
+	 * Example:
+	 * GET /news/summaries?start=1695643200000&end=1695729600000&size=200
+	 * GET /news/summaries?start=1695643200000&end=1695729600000&afterTime=1695650400000&afterId=42&size=200
+	 *
+	 * @param start     the start time in milliseconds (epoch time).
+	 * @param end       the end time in milliseconds (epoch time).
+	 * @param afterTime the publication time of the last entry of the previous page in milliseconds (epoch time).
+	 * @param afterId   the ID of the last entry of the previous page.
+	 * @param size      the page size.
+	 * @return a list of {@link NewsDTO} for the requested page.
+	 */
+	@GetMapping("/summaries")
+	public List<NewsDTO> getSummaryPage(@RequestParam long start, @RequestParam long end,
+										@RequestParam(required = false) Long afterTime,
+										@RequestParam(required = false) Long afterId,
+										@RequestParam(defaultValue = "200") @Min(1) @Max(1000) int size) {
+		var startTime = new Timestamp(start);
+		var endTime = new Timestamp(end);
+		var afterTimestamp = afterTime == null ? null : new Timestamp(afterTime);
+
+		log.info("Find News summaries in publication time between {} and {}, after: {} / {}, size: {}",
+				startTime, endTime, afterTimestamp, afterId, size);
+		return newsService.findSummaryPageByPublicationTimeBetween(startTime, endTime, afterTimestamp, afterId, size);
+	}
+
+	/**
+	 * Retrieves the news removed by the retention and kept in the archive, published between the specified
+	 * start and end times.
+	 * <p>
+	 * Example:
+	 * GET /news/archive?start=1695643200000&end=1695729600000
+	 *
+	 * @param start the start time in milliseconds (epoch time).
+	 * @param end   the end time in milliseconds (epoch time).
+	 * @return a list of archived {@link NewsDTO} ordered by publication time.
+	 */
+	@GetMapping("/archive")
+	public List<NewsDTO> getArchived(@RequestParam long start, @RequestParam long end) {
 		var startTime = new Timestamp(start);
 		var endTime = new Timestamp(end);
 
-		log.info("Find News in publication time between {} and {}", startTime, endTime);
-		return newsService.findByPublicationTimeBetween(startTime, endTime);
+		log.info("Find archived News in publication time between {} and {}", startTime, endTime);
+		return newsService.findArchivedByPublicationTimeBetween(startTime, endTime);
+	}
+
+	/**
+	 * Retrieves the number of news entries per time bucket between the specified start and end times.
+	 * The counts are served from the precomputed hourly rollup; buckets are aligned to whole hours.
+	 * <p>
+	 * Example:
+	 * GET /news/aggregates?start=1695643200000&end=1695729600000&bucket=PERIOD
+	 *
+	 * @param start  the start time in milliseconds (epoch time).
+	 * @param end    the end time in milliseconds (epoch time).
+	 * @param bucket the granularity of the counts: HOUR, DAY or PERIOD (morning, day, evening).
+	 * @return a list of {@link NewsCountDTO} ordered by the bucket start.
+	 */
+	@GetMapping("/aggregates")
+	public List<NewsCountDTO> getAggregates(@RequestParam long start, @RequestParam long end,
+											@RequestParam(defaultValue = "HOUR") AggregationBucket bucket) {
+		var startTime = new Timestamp(start);
+		var endTime = new Timestamp(end);
+
+		log.info("Count News per {} in publication time between {} and {}", bucket, startTime, endTime);
+		return aggregationService.countByPublicationTime(startTime, endTime, bucket);
+	}
+
+	/**
+	 * Searches news entries by the words of their headline and description.
+	 * Results are ranked by relevance, the most relevant first.
+	 * <p>
+	 * Example:
+	 * GET /news/search?q=ukraine&page=0&size=20
+	 *
+	 * @param query the search phrase.
+	 * @param page  the zero-based page index.
+	 * @param size  the page size.
+	 * @return a list of {@link NewsDTO} for the requested page.
+	 */
+	@GetMapping("/search")
+	public List<NewsDTO> search(@RequestParam("q") @NotBlank String query,
+								@RequestParam(defaultValue = "0") @Min(0) int page,
+								@RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+		log.info("Search News by query: '{}', page: {}, size: {}", query, page, size);
+		return newsService.searchByText(query, page, size);
 	}
 
 	/**
 	 * Retrieves a news entry by its ID.
+	 * The version of the entry is returned as its ETag, to be sent back in the If-Match header of an update.
 	 *
 	 * @param id the ID of the news entry to retrieve.
 	 * @return the news entry as a {@link NewsDTO}.
 	 */
 	@GetMapping("/{id}")
-	public NewsDTO getById(@PathVariable("id") Long id) {
+	public ResponseEntity<NewsDTO> getById(@PathVariable("id") Long id) {
 		log.info("Get News by id: {}", id);
-		return newsService.getOneById(id);
+		return withVersionETag(newsService.getOneById(id));
 	}
 
 	/**
 	 * Updates an existing news entry by its ID.
+	 * With an If-Match header holding the ETag of the entry, the update is applied only when the entry
+	 * has not been changed since, otherwise 412 Precondition Failed is returned.
+	 * The body is validated like the body of a creation.
 	 *
 	 * @param id      the ID of the news entry to update.
+	 * @param ifMatch the ETag the client has read the entry with, optional.
 	 * @param product the updated details of the news entry as a {@link NewsDTO}.
 	 * @return the updated news entry as a {@link NewsDTO}.
 	 */
 	@PutMapping("/{id}")
-	public NewsDTO update(@PathVariable("id") Long id,
-						  @RequestBody NewsDTO product) {
-		log.info("Update News by id: {} for params: {}", id, product);
-		return newsService.updateOne(id, product);
+	public ResponseEntity<NewsDTO> update(@PathVariable("id") Long id,
+										  @RequestHeader(value = "If-Match", required = false) String ifMatch,
+										  @RequestBody @Valid NewsDTO product) {
+		log.info("Update News by id: {} (If-Match: {}) for params: {}", id, ifMatch, product);
+		if (ifMatch == null || ANY_VERSION.equals(ifMatch.trim())) {
+			return withVersionETag(newsService.updateOne(id, product));
+		}
+		return withVersionETag(newsService.updateOneIfMatch(id, parseVersion(id, ifMatch), product));
+	}
+
+	/**
+	 * Partially updates an existing news entry by its ID, only the fields present in the request are changed.
+	 *
+	 * @param id    the ID of the news entry to update.
+	 * @param patch the fields to change as a {@link NewsPatchDTO}.
+	 * @return the updated news entry as a {@link NewsDTO}.
+	 */
+	@PatchMapping("/{id}")
+	public ResponseEntity<NewsDTO> patch(@PathVariable("id") Long id,
+										 @RequestBody @Valid NewsPatchDTO patch) {
+		log.info("Patch News by id: {} for params: {}", id, patch);
+		return withVersionETag(newsService.patchOne(id, patch));
+	}
+
+	/**
+	 * Applies the same changes to many news entries at once.
+	 * <p>
+	 * Example:
+	 * POST /news/bulk-update {"ids": [1, 2, 3], "changes": {"headline": "Updated"}}
+	 *
+	 * @param bulkUpdate the IDs of the news entries and the fields to change.
+	 * @return the number of updated news entries.
+	 */
+	@PostMapping("/bulk-update")
+	public BulkResultDTO bulkUpdate(@RequestBody @Valid BulkUpdateDTO bulkUpdate) {
+		log.info("Bulk update {} News for params: {}", bulkUpdate.getIds().size(), bulkUpdate.getChanges());
+		return BulkResultDTO.builder()
+				.affected(newsService.updateAllByIds(bulkUpdate.getIds(), bulkUpdate.getChanges()))
+				.build();
+	}
+
+	/**
+	 * Deletes many news entries by their IDs at once.
+	 * <p>
+	 * Example:
+	 * POST /news/bulk-delete {"ids": [1, 2, 3]}
+	 *
+	 * @param bulkDelete the IDs of the news entries to delete.
+	 * @return the number of deleted news entries.
+	 */
+	@PostMapping("/bulk-delete")
+	public BulkResultDTO bulkDelete(@RequestBody @Valid BulkDeleteDTO bulkDelete) {
+		log.info("Bulk delete {} News", bulkDelete.getIds().size());
+		return BulkResultDTO.builder()
+				.affected(newsService.deleteAllByIds(bulkDelete.getIds()))
+				.build();
 	}
 
 	/**
@@ -118,5 +300,27 @@ public class NewsController {
 		log.info("Deleting news before time: {}", endTime);
 		newsService.deleteBeforeTime(endTime);
 	}
-}
 
+	private ResponseEntity<NewsDTO> withVersionETag(NewsDTO news) {
+		return ResponseEntity.ok()
+				.eTag(String.valueOf(news.getVersion()))
+				.body(news);
+	}
+
+	/**
+	 * Parses the version from an If-Match ETag, e.g. "3" or W/"3".
+	 * A tag that is not a version can't match the entry.
+	 */
+	private long parseVersion(Long id, String ifMatch) {
+		var tag = ifMatch.trim();
+		if (tag.startsWith("W/")) {
+			tag = tag.substring(2);
+		}
+		tag = tag.replace("\"", "");
+		try {
+			return Long.parseLong(tag);
+		} catch (NumberFormatException e) {
+			throw new PreconditionFailedException("News", id, ifMatch);
+		}
+	}
+}
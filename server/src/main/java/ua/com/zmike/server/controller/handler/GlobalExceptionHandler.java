@@ -1,9 +1,12 @@
 package ua.com.zmike.server.controller.handler;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -11,6 +14,8 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import ua.com.zmike.server.exception.IngestQueueFullException;
+import ua.com.zmike.server.exception.PreconditionFailedException;
 import ua.com.zmike.server.exception.TargetNotFoundException;
 import ua.com.zmike.server.exception.dto.ExceptionDto;
 
@@ -19,6 +24,10 @@ import ua.com.zmike.server.exception.dto.ExceptionDto;
 public class GlobalExceptionHandler {
 
 	private static final String NOT_FOUND_REASON = "Not found";
+	private static final String PRECONDITION_FAILED_REASON = "Precondition failed";
+	private static final String CONFLICT_REASON = "Conflict";
+	private static final String TOO_MANY_REQUESTS_REASON = "Too many requests";
+	private static final String INGEST_RETRY_AFTER_SECONDS = "1";
 	private static final String REQUEST_CONTENT_REASON = "Request content";
 	private static final String UNEXPECTED_ERROR_REASON = "Unexpected error";
 
@@ -29,6 +38,28 @@ public class GlobalExceptionHandler {
 		return buildExceptionDto(NOT_FOUND_REASON, ex.getMessage());
 	}
 
+	@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+	@ExceptionHandler(PreconditionFailedException.class)
+	public ExceptionDto preconditionFailedException(PreconditionFailedException ex) {
+		log.warn("Precondition failed exception, {}", ex.getMessage());
+		return buildExceptionDto(PRECONDITION_FAILED_REASON, ex.getMessage());
+	}
+
+	@ResponseStatus(HttpStatus.CONFLICT)
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ExceptionDto optimisticLockingException(ObjectOptimisticLockingFailureException ex) {
+		log.warn("Concurrent modification exception, {}", ex.getMessage());
+		return buildExceptionDto(CONFLICT_REASON, ex.getMessage());
+	}
+
+	@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+	@ExceptionHandler(IngestQueueFullException.class)
+	public ExceptionDto ingestQueueFullException(IngestQueueFullException ex, HttpServletResponse response) {
+		log.warn("Ingest queue full exception, {}", ex.getMessage());
+		response.setHeader(HttpHeaders.RETRY_AFTER, INGEST_RETRY_AFTER_SECONDS);
+		return buildExceptionDto(TOO_MANY_REQUESTS_REASON, ex.getMessage());
+	}
+
 	@ResponseStatus(HttpStatus.BAD_REQUEST)
 	@ExceptionHandler(value = {
 			HttpMessageNotReadableException.class,
@@ -26,6 +26,7 @@ public class NewsConverterImpl implements DtoConverter<NewsDTO, News> {
 				.headline(news.getHeadline())
 				.description(news.getDescription())
 				.publicationTime(news.getPublicationTime().toLocalDateTime())
+				.version(news.getVersion())
 				.build();
 	}
 
@@ -42,6 +43,7 @@ public class NewsConverterImpl implements DtoConverter<NewsDTO, News> {
 		news.setHeadline(newsDto.getHeadline());
 		news.setDescription(newsDto.getDescription());
 		news.setPublicationTime(Timestamp.valueOf(newsDto.getPublicationTime()));
+		news.setVersion(newsDto.getVersion());
 		return news;
 	}
 }
@@ -0,0 +1,10 @@
+package ua.com.zmike.server.datasource;
+
+/**
+ * Roles of the databases behind {@link ReadWriteRoutingDataSource}.
+ */
+public enum DataSourceRole {
+
+	PRIMARY,
+	REPLICA
+}
@@ -0,0 +1,41 @@
+package ua.com.zmike.server.datasource;
+
+import java.time.Duration;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to the replica and everything else to the primary database.
+ * <p>
+ * After a write, the reads of the client that wrote keep going to the primary for the read-your-writes window,
+ * so it is not served stale data while the replica catches up. The window is tracked per client with the token
+ * of {@link ReadYourWritesFilter}, the reads of other clients stay on the replica.
+ * <p>
+ * The transaction attributes are only known once the transaction has started, so this data source
+ * must be wrapped in a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	private final long readYourWritesWindowMillis;
+
+	public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+		this.readYourWritesWindowMillis = readYourWritesWindow.toMillis();
+		setTargetDataSources(Map.of(DataSourceRole.PRIMARY, primary, DataSourceRole.REPLICA, replica));
+		setDefaultTargetDataSource(primary);
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			return DataSourceRole.PRIMARY;
+		}
+		var lastWriteMillis = ReadYourWritesContext.getLastWriteMillis();
+		return lastWriteMillis != ReadYourWritesContext.NO_WRITE
+				&& System.currentTimeMillis() - lastWriteMillis < readYourWritesWindowMillis
+				? DataSourceRole.PRIMARY
+				: DataSourceRole.REPLICA;
+	}
+}
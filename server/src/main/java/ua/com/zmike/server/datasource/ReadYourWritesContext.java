@@ -0,0 +1,32 @@
+package ua.com.zmike.server.datasource;
+
+/**
+ * Time of the last write of the client whose request is handled by the current thread,
+ * set by {@link ReadYourWritesFilter} and read by {@link ReadWriteRoutingDataSource}.
+ */
+public final class ReadYourWritesContext {
+
+	public static final long NO_WRITE = Long.MIN_VALUE;
+
+	private static final ThreadLocal<Long> LAST_WRITE_MILLIS = new ThreadLocal<>();
+
+	private ReadYourWritesContext() {
+	}
+
+	static void setLastWriteMillis(long lastWriteMillis) {
+		LAST_WRITE_MILLIS.set(lastWriteMillis);
+	}
+
+	/**
+	 * Returns the time of the last write of the current client, or {@link #NO_WRITE} when it has not written
+	 * or the thread does not handle a request.
+	 */
+	public static long getLastWriteMillis() {
+		var lastWriteMillis = LAST_WRITE_MILLIS.get();
+		return lastWriteMillis == null ? NO_WRITE : lastWriteMillis;
+	}
+
+	static void clear() {
+		LAST_WRITE_MILLIS.remove();
+	}
+}
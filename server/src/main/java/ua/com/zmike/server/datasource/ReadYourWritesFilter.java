@@ -0,0 +1,52 @@
+package ua.com.zmike.server.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Scopes the read-your-writes window of {@link ReadWriteRoutingDataSource} to the client that wrote.
+ * <p>
+ * Responses to writing requests (POST, PUT, PATCH, DELETE) carry the time of the write in the
+ * {@value #LAST_WRITE_HEADER} header. A client sending the header back has its reads routed to the primary
+ * until the window after that time has passed; requests without it, including the writes of other clients,
+ * the ingest writer and the scheduled jobs, do not keep anybody else's reads on the primary.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	public static final String LAST_WRITE_HEADER = "X-News-Last-Write";
+
+	private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		var lastWriteMillis = parseLastWrite(request.getHeader(LAST_WRITE_HEADER));
+		if (WRITE_METHODS.contains(request.getMethod())) {
+			lastWriteMillis = System.currentTimeMillis();
+			response.setHeader(LAST_WRITE_HEADER, Long.toString(lastWriteMillis));
+		}
+		ReadYourWritesContext.setLastWriteMillis(lastWriteMillis);
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			ReadYourWritesContext.clear();
+		}
+	}
+
+	private static long parseLastWrite(String header) {
+		if (header == null) {
+			return ReadYourWritesContext.NO_WRITE;
+		}
+		try {
+			// a token from the future would pin the client to the primary, it is capped at now
+			return Math.min(Long.parseLong(header.trim()), System.currentTimeMillis());
+		} catch (NumberFormatException e) {
+			return ReadYourWritesContext.NO_WRITE;
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package ua.com.zmike.server.dto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Granularity of the news volume aggregates.
+ * Every bucket is composed of whole hours, so it can be folded from the hourly rollup.
+ */
+public enum AggregationBucket {
+
+	HOUR {
+		@Override
+		public LocalDateTime bucketStart(LocalDateTime hour) {
+			return hour.truncatedTo(ChronoUnit.HOURS);
+		}
+	},
+	DAY {
+		@Override
+		public LocalDateTime bucketStart(LocalDateTime hour) {
+			return hour.truncatedTo(ChronoUnit.DAYS);
+		}
+	},
+	/**
+	 * Parts of the day: morning (00:00 - 11:59), day (12:00 - 17:59) and evening (18:00 - 23:59).
+	 */
+	PERIOD {
+		@Override
+		public LocalDateTime bucketStart(LocalDateTime hour) {
+			var day = hour.truncatedTo(ChronoUnit.DAYS);
+			if (hour.getHour() < 12) {
+				return day;
+			}
+			return hour.getHour() < 18 ? day.withHour(12) : day.withHour(18);
+		}
+	};
+
+	/**
+	 * Resolves the start of the bucket the given hour belongs to.
+	 *
+	 * @param hour the start of an hourly bucket.
+	 * @return the start of the bucket of this granularity.
+	 */
+	public abstract LocalDateTime bucketStart(LocalDateTime hour);
+}
@@ -0,0 +1,16 @@
+package ua.com.zmike.server.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BulkDeleteDTO {
+
+	@NotEmpty
+	@Size(max = 10_000)
+	private List<Long> ids;
+}
@@ -0,0 +1,11 @@
+package ua.com.zmike.server.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BulkResultDTO {
+
+	private int affected;
+}
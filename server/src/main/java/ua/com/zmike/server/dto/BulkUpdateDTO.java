@@ -0,0 +1,21 @@
+package ua.com.zmike.server.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BulkUpdateDTO {
+
+	@NotEmpty
+	@Size(max = 10_000)
+	private List<Long> ids;
+	@Valid
+	@NotNull
+	private NewsPatchDTO changes;
+}
@@ -0,0 +1,14 @@
+package ua.com.zmike.server.dto;
+
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class NewsCountDTO {
+
+	private LocalDateTime bucketStart;
+
+	private long count;
+}
@@ -1,22 +1,33 @@
 package ua.com.zmike.server.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 import lombok.Builder;
 import lombok.Data;
 
+/**
+ * News entry as read and written by the API. The text limits match the lengths of the news table columns,
+ * so a too long headline or description is rejected with 400 Bad Request instead of failing at insert time.
+ */
 @Data
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class NewsDTO {
 
 	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
 	private Long id;
 	@NotBlank
+	@Size(max = 100)
 	private String headline;
 	@NotBlank
+	@Size(max = 1000)
 	private String description;
 	@NotNull
 	private LocalDateTime publicationTime;
+	@JsonProperty(access = JsonProperty.Access.READ_ONLY)
+	private Long version;
 }
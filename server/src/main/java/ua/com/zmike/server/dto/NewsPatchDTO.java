@@ -0,0 +1,21 @@
+package ua.com.zmike.server.dto;
+
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Partial update of a news entry, only the fields that are set are changed.
+ * A set text field must not be empty and must fit its news table column, like in {@link NewsDTO}.
+ */
+@Data
+@Builder
+public class NewsPatchDTO {
+
+	@Size(min = 1, max = 100)
+	private String headline;
+	@Size(min = 1, max = 1000)
+	private String description;
+	private LocalDateTime publicationTime;
+}
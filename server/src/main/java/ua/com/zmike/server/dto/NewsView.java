@@ -0,0 +1,16 @@
+package ua.com.zmike.server.dto;
+
+/**
+ * Set of fields returned for each news entry by the list endpoints.
+ */
+public enum NewsView {
+
+	/**
+	 * All fields of the news entry.
+	 */
+	FULL,
+	/**
+	 * ID, headline and publication time only, the description is loaded by ID when it is needed.
+	 */
+	SUMMARY
+}
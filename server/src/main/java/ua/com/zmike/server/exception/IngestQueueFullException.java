@@ -0,0 +1,10 @@
+package ua.com.zmike.server.exception;
+
+public class IngestQueueFullException extends RuntimeException {
+
+	private static final String MESSAGE_PATTERN = "Ingest queue is full, [%s] news are waiting to be saved";
+
+	public IngestQueueFullException(int queueDepth) {
+		super(String.format(MESSAGE_PATTERN, queueDepth));
+	}
+}
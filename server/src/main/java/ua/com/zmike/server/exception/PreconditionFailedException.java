@@ -0,0 +1,10 @@
+package ua.com.zmike.server.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+	private static final String MESSAGE_PATTERN = "Target [%s] with id [%s] doesn't match the expected version [%s]";
+
+	public PreconditionFailedException(String targetName, Object id, Object expectedVersion) {
+		super(String.format(MESSAGE_PATTERN, targetName, id, expectedVersion));
+	}
+}
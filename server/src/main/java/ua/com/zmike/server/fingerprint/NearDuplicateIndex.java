@@ -0,0 +1,151 @@
+package ua.com.zmike.server.fingerprint;
+
+import java.time.Duration;
+import java.util.Arrays;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory LSH index of {@link SimHash} fingerprints of the recently published news.
+ * <p>
+ * A fingerprint is split into {@value #BANDS} bands of {@value #BAND_BITS} bits. Two fingerprints within
+ * a Hamming distance below {@value #BANDS} share at least one band, so only the entries with an equal band
+ * value have to be compared. Each band value points to the newest entry with that value and every entry
+ * links to the next older one, forming a chain per band value.
+ * <p>
+ * Entries are kept in a ring of fixed capacity, the oldest entries are overwritten once it is full.
+ * Everything is stored in primitive arrays addressed by the entry sequence number, so an overwritten entry
+ * simply terminates the chains passing through it.
+ * <p>
+ * The index only holds the news written by its own node, so it can not be enabled while more than one node
+ * writes news ("news.id.writers"): each node would miss the stories of the others.
+ */
+@Component
+public class NearDuplicateIndex {
+
+	public static final long NO_MATCH = -1;
+
+	private static final int BANDS = 4;
+	private static final int BAND_BITS = 16;
+	private static final int BAND_MASK = (1 << BAND_BITS) - 1;
+	private static final long EMPTY = -1;
+
+	private final int capacity;
+	private final int maxDistance;
+	private final long windowMillis;
+
+	private final long[] fingerprints;
+	private final long[] ids;
+	private final long[] publicationTimes;
+	private final long[][] bandHeads;
+	private final long[][] bandNext;
+
+	private long nextSequence;
+
+	public NearDuplicateIndex(@Value("${news.near-duplicate.enabled}") boolean enabled,
+							  @Value("${news.id.writers}") int writers,
+							  @Value("${news.near-duplicate.capacity}") int capacity,
+							  @Value("${news.near-duplicate.max-distance}") int maxDistance,
+							  @Value("${news.near-duplicate.window}") Duration window) {
+		if (enabled && writers > 1) {
+			throw new IllegalStateException("news.near-duplicate.enabled (NEWS_NEAR_DUPLICATE_ENABLED) must be false when "
+					+ writers + " nodes write news, the index of a node does not see the stories of the others");
+		}
+		if (maxDistance < 0 || maxDistance >= BANDS) {
+			throw new IllegalArgumentException("Max distance must be between 0 and " + (BANDS - 1));
+		}
+		this.capacity = capacity;
+		this.maxDistance = maxDistance;
+		this.windowMillis = window.toMillis();
+
+		this.fingerprints = new long[capacity];
+		this.ids = new long[capacity];
+		this.publicationTimes = new long[capacity];
+		this.bandHeads = new long[BANDS][1 << BAND_BITS];
+		this.bandNext = new long[BANDS][capacity];
+		for (long[] heads : bandHeads) {
+			Arrays.fill(heads, EMPTY);
+		}
+	}
+
+	/**
+	 * Finds a news entry with a fingerprint close to the given one,
+	 * published within the configured window around the given publication time.
+	 *
+	 * @param fingerprint     the fingerprint of the news to check.
+	 * @param publicationTime the publication time of the news in milliseconds (epoch time).
+	 * @return the ID of the newest matching news, or {@link #NO_MATCH} when there is none.
+	 */
+	public synchronized long findNearDuplicate(long fingerprint, long publicationTime) {
+		var oldestSequence = nextSequence - capacity;
+
+		for (int band = 0; band < BANDS; band++) {
+			var sequence = bandHeads[band][bandValue(fingerprint, band)];
+
+			while (sequence != EMPTY && sequence >= oldestSequence) {
+				var slot = slot(sequence);
+				if (Math.abs(publicationTimes[slot] - publicationTime) <= windowMillis
+						&& SimHash.distance(fingerprints[slot], fingerprint) <= maxDistance) {
+					return ids[slot];
+				}
+				sequence = bandNext[band][slot];
+			}
+		}
+		return NO_MATCH;
+	}
+
+	/**
+	 * Finds a news entry with a fingerprint close to the given one, like {@link #findNearDuplicate(long, long)},
+	 * and adds the given entry when there is none, both under one lock: of two near-duplicates added at once,
+	 * the second one finds the first.
+	 *
+	 * @param id              the ID the news gets when it is added.
+	 * @param fingerprint     the fingerprint of the news.
+	 * @param publicationTime the publication time of the news in milliseconds (epoch time).
+	 * @return the ID of the newest matching news, or {@link #NO_MATCH} when there is none and the news was added.
+	 */
+	public synchronized long findOrAdd(long id, long fingerprint, long publicationTime) {
+		var duplicateId = findNearDuplicate(fingerprint, publicationTime);
+		if (duplicateId == NO_MATCH) {
+			add(id, fingerprint, publicationTime);
+		}
+		return duplicateId;
+	}
+
+	/**
+	 * Adds the fingerprint of a news entry to the index, overwriting the oldest entry when the index is full.
+	 *
+	 * @param id              the ID of the news.
+	 * @param fingerprint     the fingerprint of the news.
+	 * @param publicationTime the publication time of the news in milliseconds (epoch time).
+	 */
+	public synchronized void add(long id, long fingerprint, long publicationTime) {
+		var sequence = nextSequence++;
+		var slot = slot(sequence);
+
+		fingerprints[slot] = fingerprint;
+		ids[slot] = id;
+		publicationTimes[slot] = publicationTime;
+
+		for (int band = 0; band < BANDS; band++) {
+			var value = bandValue(fingerprint, band);
+			bandNext[band][slot] = bandHeads[band][value];
+			bandHeads[band][value] = sequence;
+		}
+	}
+
+	/**
+	 * @return the number of entries currently held by the index.
+	 */
+	public synchronized int size() {
+		return (int) Math.min(nextSequence, capacity);
+	}
+
+	private int slot(long sequence) {
+		return (int) (sequence % capacity);
+	}
+
+	private static int bandValue(long fingerprint, int band) {
+		return (int) (fingerprint >>> (band * BAND_BITS)) & BAND_MASK;
+	}
+}
@@ -0,0 +1,86 @@
+package ua.com.zmike.server.fingerprint;
+
+/**
+ * 64-bit SimHash fingerprint of a text.
+ * Texts that differ only by a few words produce fingerprints within a small Hamming distance,
+ * so near-duplicate news can be found by comparing fingerprints instead of the texts.
+ * Words are hashed in place while scanning the text, without creating intermediate strings.
+ */
+public final class SimHash {
+
+	private static final int BITS = Long.SIZE;
+	private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private SimHash() {
+	}
+
+	/**
+	 * Computes the fingerprint of the given texts treated as one document.
+	 *
+	 * @param texts the texts to fingerprint, {@code null} values are skipped.
+	 * @return the 64-bit fingerprint.
+	 */
+	public static long of(String... texts) {
+		var weights = new int[BITS];
+		for (String text : texts) {
+			if (text != null) {
+				accumulate(text, weights);
+			}
+		}
+
+		long fingerprint = 0;
+		for (int bit = 0; bit < BITS; bit++) {
+			if (weights[bit] > 0) {
+				fingerprint |= 1L << bit;
+			}
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Counts the number of differing bits of two fingerprints.
+	 *
+	 * @param first  the first fingerprint.
+	 * @param second the second fingerprint.
+	 * @return the Hamming distance between the fingerprints.
+	 */
+	public static int distance(long first, long second) {
+		return Long.bitCount(first ^ second);
+	}
+
+	private static void accumulate(String text, int[] weights) {
+		long hash = FNV_OFFSET_BASIS;
+		boolean inWord = false;
+
+		for (int i = 0; i < text.length(); i++) {
+			char symbol = text.charAt(i);
+			if (Character.isLetterOrDigit(symbol)) {
+				hash = (hash ^ Character.toLowerCase(symbol)) * FNV_PRIME;
+				inWord = true;
+			} else if (inWord) {
+				addFeature(mix(hash), weights);
+				hash = FNV_OFFSET_BASIS;
+				inWord = false;
+			}
+		}
+		if (inWord) {
+			addFeature(mix(hash), weights);
+		}
+	}
+
+	private static void addFeature(long featureHash, int[] weights) {
+		for (int bit = 0; bit < BITS; bit++) {
+			weights[bit] += ((featureHash >>> bit) & 1L) == 1L ? 1 : -1;
+		}
+	}
+
+	/**
+	 * SplitMix64 finalizer, spreads the FNV hash of short words over all 64 bits.
+	 */
+	private static long mix(long hash) {
+		hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+		hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+		return hash ^ (hash >>> 31);
+	}
+}
@@ -0,0 +1,141 @@
+package ua.com.zmike.server.id;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ua.com.zmike.server.repository.NewsRepository;
+
+/**
+ * Generates time-ordered 64-bit news IDs in the application, so new entries can be inserted in JDBC batches
+ * and several server nodes can write to the same table without coordination.
+ * <p>
+ * An ID is laid out as in Snowflake: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of the node ID
+ * ("news.id.node-id", unique per writing node) and 12 bits of a per-millisecond sequence. IDs of one node
+ * are strictly increasing: when the clock moves back or the 4096 IDs of a millisecond are used up, the
+ * generator goes on from the last millisecond it issued instead of waiting for the clock.
+ * <p>
+ * The last issued millisecond is only kept in memory, so at startup the generator continues after the highest
+ * ID in the news table: a node restarted after its clock has been set back does not issue the IDs it issued
+ * before. With more than one writing node ("news.id.writers"), the node ID must be set explicitly, since two
+ * nodes left on the default would generate the same IDs.
+ * <p>
+ * IDs grow with the insertion time, so the rows are appended at the end of the clustered primary key,
+ * in about the order of their publication time. They exceed 2^53, so JavaScript clients must read them as strings.
+ */
+@Slf4j
+@Component
+public class SnowflakeIdGenerator implements SmartInitializingSingleton {
+
+	/**
+	 * 2024-01-01T00:00:00Z, the time of the first ID; IDs run out 69 years later.
+	 */
+	public static final Instant EPOCH = Instant.parse("2024-01-01T00:00:00Z");
+
+	static final int NODE_BITS = 10;
+	static final int SEQUENCE_BITS = 12;
+	static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+	private static final int TIME_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+	private final long nodeId;
+	private final LongSupplier clock;
+	private final long epochMillis = EPOCH.toEpochMilli();
+	private final NewsRepository newsRepository;
+
+	private long lastMillis = -1;
+	private long sequence;
+
+	/**
+	 * @param nodeId         the node ID, or null when it is not configured.
+	 * @param writers        the number of server nodes writing news.
+	 * @param newsRepository the repository the highest issued ID is read from at startup.
+	 */
+	@Autowired
+	public SnowflakeIdGenerator(@Value("${news.id.node-id}") Long nodeId, @Value("${news.id.writers}") int writers,
+								NewsRepository newsRepository) {
+		this(requireNodeId(nodeId, writers), System::currentTimeMillis, newsRepository);
+	}
+
+	SnowflakeIdGenerator(long nodeId, LongSupplier clock, NewsRepository newsRepository) {
+		if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+			throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ", got " + nodeId);
+		}
+		this.nodeId = nodeId;
+		this.clock = clock;
+		this.newsRepository = newsRepository;
+		log.info("News IDs are generated for node {}", nodeId);
+	}
+
+	/**
+	 * Continues after the highest ID in the news table, before the first ID is issued.
+	 */
+	@Override
+	public void afterSingletonsInstantiated() {
+		newsRepository.findMaxId().ifPresent(this::continueAfter);
+	}
+
+	/**
+	 * Makes the following IDs start in the millisecond after the one of the given ID, if that is ahead of
+	 * the last issued one. The highest ID of all nodes is used, as the IDs of one node can not be told apart
+	 * by an index range; it may move this node ahead of its clock by the clock skew between the nodes.
+	 *
+	 * @param id the highest ID issued so far.
+	 */
+	synchronized void continueAfter(long id) {
+		var millis = timeOf(id).toEpochMilli();
+		if (millis < lastMillis) {
+			return;
+		}
+		var now = clock.getAsLong();
+		if (millis >= now) {
+			log.warn("The clock ({}) is behind the highest news ID issued ({}), IDs continue from the latter",
+					Instant.ofEpochMilli(now), Instant.ofEpochMilli(millis));
+		}
+		// the next ID takes the following millisecond, as the sequence of this one wraps around
+		lastMillis = millis;
+		sequence = SEQUENCE_MASK;
+	}
+
+	/**
+	 * Returns the next ID of this node.
+	 */
+	public synchronized long nextId() {
+		var millis = Math.max(clock.getAsLong(), lastMillis);
+		if (millis == lastMillis) {
+			sequence = (sequence + 1) & SEQUENCE_MASK;
+			if (sequence == 0) {
+				millis++;
+			}
+		} else {
+			sequence = 0;
+		}
+		lastMillis = millis;
+		return ((millis - epochMillis) << TIME_SHIFT) | (nodeId << SEQUENCE_BITS) | sequence;
+	}
+
+	/**
+	 * Returns the time an ID was generated at, to the millisecond.
+	 *
+	 * @param id an ID of this generator.
+	 * @return the time encoded in the ID.
+	 */
+	public static Instant timeOf(long id) {
+		return EPOCH.plusMillis(id >>> TIME_SHIFT);
+	}
+
+	private static long requireNodeId(Long nodeId, int writers) {
+		if (nodeId != null) {
+			return nodeId;
+		}
+		if (writers > 1) {
+			throw new IllegalStateException("news.id.node-id (NEWS_NODE_ID) must be set to a unique value per node when "
+					+ writers + " nodes write news, otherwise their news IDs collide");
+		}
+		return 0;
+	}
+}
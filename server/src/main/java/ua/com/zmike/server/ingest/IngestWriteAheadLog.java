@@ -0,0 +1,287 @@
+package ua.com.zmike.server.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import ua.com.zmike.server.dto.NewsDTO;
+
+/**
+ * Write-ahead log of the news accepted by the {@link NewsIngestQueue}.
+ * <p>
+ * Every accepted news is written as a line with its sequence number and JSON to the active segment
+ * "ingest-&lt;first sequence number&gt;.wal". {@link #sync(long)} forces it to disk with a group commit: one caller
+ * forces everything written so far outside the lock while the others wait for it, so a burst of appends costs
+ * one fsync instead of one per news.
+ * <p>
+ * Once a batch is saved, the sequence number of its last news is written to "ingest.checkpoint". At every
+ * checkpoint the active segment is emptied when all its news are saved, or rotated when it has grown past the
+ * segment size, and the older segments holding only saved news are deleted, so the log is bounded by the news
+ * not saved yet. After a restart the segments are read line by line and the news after the checkpoint are
+ * recovered, a line torn by a crash is cut off.
+ */
+@Slf4j
+final class IngestWriteAheadLog implements Closeable {
+
+	private static final String SEGMENT_PREFIX = "ingest-";
+	private static final String SEGMENT_SUFFIX = ".wal";
+	private static final String CHECKPOINT_FILE = "ingest.checkpoint";
+	private static final byte LINE_END = '\n';
+	private static final char SEQUENCE_END = ' ';
+
+	private final ObjectMapper objectMapper;
+	private final Path directory;
+	private final Path checkpointFile;
+	private final long segmentSize;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition synced = lock.newCondition();
+	private final List<Segment> closedSegments = new ArrayList<>();
+
+	private Segment activeSegment;
+	private FileChannel channel;
+	private long lastSequence;
+	private long durableSequence;
+	private volatile long checkpoint;
+	private boolean syncing;
+
+	record Entry(long sequence, NewsDTO news) {
+	}
+
+	private record Segment(Path file, long firstSequence) {
+	}
+
+	/**
+	 * @param directory    the directory of the segments and the checkpoint.
+	 * @param objectMapper the mapper of the news lines.
+	 * @param segmentSize  the size in bytes past which the active segment is rotated at a checkpoint.
+	 */
+	IngestWriteAheadLog(Path directory, ObjectMapper objectMapper, long segmentSize) throws IOException {
+		Files.createDirectories(directory);
+		this.objectMapper = objectMapper;
+		this.directory = directory;
+		this.checkpointFile = directory.resolve(CHECKPOINT_FILE);
+		this.segmentSize = segmentSize;
+		this.checkpoint = Files.exists(checkpointFile)
+				? Long.parseLong(Files.readString(checkpointFile).trim())
+				: 0;
+		this.lastSequence = checkpoint;
+		try (var segments = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+			for (Path file : segments) {
+				var name = file.getFileName().toString();
+				closedSegments.add(new Segment(file,
+						Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))));
+			}
+		}
+		closedSegments.sort(Comparator.comparingLong(Segment::firstSequence));
+	}
+
+	/**
+	 * Reads the news appended after the checkpoint, i.e. accepted but not saved before the last shutdown,
+	 * and opens a new active segment. It must be called once, before the first news is written.
+	 *
+	 * @return the entries in the order they were accepted.
+	 */
+	List<Entry> recover() throws IOException {
+		lock.lock();
+		try {
+			List<Entry> entries = new ArrayList<>();
+			for (var segment : closedSegments) {
+				readSegment(segment.file(), entries);
+			}
+			openSegment(lastSequence + 1);
+			// a segment left without complete entries by a crash is reopened as the active one
+			closedSegments.removeIf(segment -> segment.file().equals(activeSegment.file()));
+			durableSequence = lastSequence;
+			deleteSavedSegments();
+			return entries;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Writes a news to the active segment without forcing it to disk.
+	 *
+	 * @param news the accepted news.
+	 * @return the sequence number of the news, to be passed to {@link #sync(long)}.
+	 */
+	long write(NewsDTO news) throws IOException {
+		var json = objectMapper.writeValueAsString(news);
+		lock.lock();
+		try {
+			var sequence = lastSequence + 1;
+			var line = (sequence + String.valueOf(SEQUENCE_END) + json).getBytes(StandardCharsets.UTF_8);
+			var buffer = ByteBuffer.allocate(line.length + 1).put(line).put(LINE_END).flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			lastSequence = sequence;
+			return sequence;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits until the news up to the given sequence number are on disk. When no other caller is forcing
+	 * the segment, this one forces everything written so far, the news of the callers waiting meanwhile included.
+	 *
+	 * @param sequence the sequence number returned by {@link #write(NewsDTO)}.
+	 */
+	void sync(long sequence) throws IOException {
+		lock.lock();
+		try {
+			while (durableSequence < sequence) {
+				if (syncing) {
+					synced.awaitUninterruptibly();
+					continue;
+				}
+				syncing = true;
+				var target = lastSequence;
+				var syncedChannel = channel;
+				lock.unlock();
+				try {
+					syncedChannel.force(false);
+				} finally {
+					lock.lock();
+					syncing = false;
+					synced.signalAll();
+				}
+				durableSequence = Math.max(durableSequence, target);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Marks the news up to the given sequence number as saved and drops the segments no longer needed.
+	 * It is called by the single writer of the queue.
+	 *
+	 * @param sequence the sequence number of the last saved news.
+	 */
+	void checkpoint(long sequence) throws IOException {
+		if (sequence <= checkpoint) {
+			return;
+		}
+		var temporaryFile = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+		try (var checkpointChannel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			checkpointChannel.write(ByteBuffer.wrap(Long.toString(sequence).getBytes(StandardCharsets.US_ASCII)));
+			checkpointChannel.force(true);
+		}
+		Files.move(temporaryFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		lock.lock();
+		try {
+			checkpoint = sequence;
+			if (checkpoint >= lastSequence) {
+				// every written news is saved, so none of them needs to be forced any more
+				channel.truncate(0);
+				durableSequence = lastSequence;
+				synced.signalAll();
+			} else if (channel.size() >= segmentSize) {
+				rotate();
+			}
+			deleteSavedSegments();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		lock.lock();
+		try {
+			if (channel != null) {
+				channel.close();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Closes the active segment once it is on disk and opens the next one.
+	 */
+	private void rotate() throws IOException {
+		while (syncing) {
+			synced.awaitUninterruptibly();
+		}
+		channel.force(false);
+		channel.close();
+		durableSequence = lastSequence;
+		synced.signalAll();
+		closedSegments.add(activeSegment);
+		openSegment(lastSequence + 1);
+	}
+
+	private void openSegment(long firstSequence) throws IOException {
+		activeSegment = new Segment(directory.resolve(SEGMENT_PREFIX + firstSequence + SEGMENT_SUFFIX), firstSequence);
+		channel = FileChannel.open(activeSegment.file(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+		channel.position(channel.size());
+	}
+
+	/**
+	 * Deletes the closed segments whose news are all saved: those followed by a segment starting after the checkpoint.
+	 */
+	private void deleteSavedSegments() throws IOException {
+		while (!closedSegments.isEmpty()) {
+			var next = closedSegments.size() > 1 ? closedSegments.get(1) : activeSegment;
+			if (next.firstSequence() - 1 > checkpoint) {
+				return;
+			}
+			Files.deleteIfExists(closedSegments.remove(0).file());
+		}
+	}
+
+	private void readSegment(Path file, List<Entry> entries) throws IOException {
+		var line = new ByteArrayOutputStream();
+		long position = 0;
+		long validLength = 0;
+		try (var input = new BufferedInputStream(Files.newInputStream(file))) {
+			for (int b = input.read(); b != -1; b = input.read()) {
+				position++;
+				if (b != LINE_END) {
+					line.write(b);
+					continue;
+				}
+				readEntry(line.toString(StandardCharsets.UTF_8), entries);
+				line.reset();
+				validLength = position;
+			}
+		}
+		if (validLength < position) {
+			log.warn("Cutting off a torn entry at {} of the ingest write-ahead log segment {}", validLength, file);
+			try (var segmentChannel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+				segmentChannel.truncate(validLength);
+			}
+		}
+	}
+
+	private void readEntry(String line, List<Entry> entries) throws IOException {
+		if (line.isEmpty()) {
+			return;
+		}
+		var separator = line.indexOf(SEQUENCE_END);
+		var sequence = Long.parseLong(line.substring(0, separator));
+		lastSequence = Math.max(lastSequence, sequence);
+		if (sequence > checkpoint) {
+			entries.add(new Entry(sequence, objectMapper.readValue(line.substring(separator + 1), NewsDTO.class)));
+		}
+	}
+}
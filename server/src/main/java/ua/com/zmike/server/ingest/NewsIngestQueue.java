@@ -0,0 +1,328 @@
+package ua.com.zmike.server.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.unit.DataSize;
+import ua.com.zmike.server.dto.NewsDTO;
+import ua.com.zmike.server.exception.IngestQueueFullException;
+import ua.com.zmike.server.service.NewsService;
+
+/**
+ * Write-behind queue of the news created in the "async" ingest mode ("news.ingest.mode").
+ * <p>
+ * Accepted news are held in a bounded ring buffer ({@link ArrayBlockingQueue}) and saved by a single writer
+ * thread, which drains up to "news.ingest.batch-size" news at a time and saves them in one transaction with
+ * {@link NewsService#addAll(List)}. A crawler burst then holds one database connection instead of one per request,
+ * and a full queue rejects new news instead of slowing down the reads.
+ * <p>
+ * With "news.ingest.wal.enabled" every accepted news is written to the {@link IngestWriteAheadLog} and queued
+ * only once it is forced to disk, so the news of a request failing on the fsync is not saved by the writer, and
+ * the news not saved before a crash or shutdown are saved after the restart. Without it they are lost. The fsync is a group commit shared
+ * by the concurrent requests, and it happens outside the queue lock, so a request thread (a virtual thread) is
+ * never blocked on the disk while holding a lock the others need.
+ * <p>
+ * The log is checkpointed before the lowest sequence number not saved yet, so a batch left unsaved, by a shutdown
+ * or by a failed fsync racing a later news, is never skipped at the recovery; the writer also stops at such a batch.
+ * The delivery is at least once: after a crash, the news of a batch committed just before it, ahead of its
+ * checkpoint, are saved again with new IDs, and a news whose request failed on the fsync may still be recovered.
+ * <p>
+ * Metrics: "news.ingest.queue.depth", "news.ingest.commit" (the latency of one batch transaction),
+ * "news.ingest.lag" (from acceptance to commit), "news.ingest.rejected" and "news.ingest.dropped".
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NewsIngestQueue {
+
+	private static final String ASYNC_MODE = "async";
+	private static final long POLL_TIMEOUT_MS = 500;
+
+	private final NewsService newsService;
+	private final ObjectMapper objectMapper;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${news.ingest.mode}")
+	private String mode;
+
+	@Value("${news.ingest.queue-capacity}")
+	private int queueCapacity;
+
+	@Value("${news.ingest.batch-size}")
+	private int batchSize;
+
+	@Value("${news.ingest.retry-delay}")
+	private Duration retryDelay;
+
+	@Value("${news.ingest.shutdown-timeout}")
+	private Duration shutdownTimeout;
+
+	@Value("${news.ingest.wal.enabled}")
+	private boolean writeAheadLogEnabled;
+
+	@Value("${news.ingest.wal.directory}")
+	private Path writeAheadLogDirectory;
+
+	@Value("${news.ingest.wal.segment-size}")
+	private DataSize writeAheadLogSegmentSize;
+
+	private final ReentrantLock enqueueLock = new ReentrantLock();
+	private final ConcurrentSkipListSet<Long> unsavedSequences = new ConcurrentSkipListSet<>();
+	private int syncingNews;
+	private BlockingQueue<PendingNews> queue;
+	private IngestWriteAheadLog writeAheadLog;
+	private Thread writer;
+	private volatile boolean running;
+
+	private Timer commitTimer;
+	private Timer lagTimer;
+	private Counter rejectedCounter;
+	private Counter droppedCounter;
+
+	private record PendingNews(long sequence, NewsDTO news, long acceptedNanos) {
+	}
+
+	public boolean isAsync() {
+		return ASYNC_MODE.equalsIgnoreCase(mode);
+	}
+
+	/**
+	 * Recovers the news left in the write-ahead log and starts the writer in the "async" mode.
+	 */
+	@PostConstruct
+	public void start() throws IOException {
+		if (!isAsync()) {
+			return;
+		}
+		queue = new ArrayBlockingQueue<>(queueCapacity);
+		Gauge.builder("news.ingest.queue.depth", queue, Collection::size)
+				.description("News accepted and waiting to be saved")
+				.register(meterRegistry);
+		commitTimer = Timer.builder("news.ingest.commit")
+				.description("Duration of the transaction saving one batch of queued news")
+				.publishPercentileHistogram()
+				.register(meterRegistry);
+		lagTimer = Timer.builder("news.ingest.lag")
+				.description("Time from the acceptance of a news to its commit")
+				.register(meterRegistry);
+		rejectedCounter = Counter.builder("news.ingest.rejected")
+				.description("News rejected because the queue was full")
+				.register(meterRegistry);
+		droppedCounter = Counter.builder("news.ingest.dropped")
+				.description("Accepted news that could not be saved")
+				.register(meterRegistry);
+
+		List<PendingNews> recovered = new ArrayList<>();
+		if (writeAheadLogEnabled) {
+			writeAheadLog = new IngestWriteAheadLog(writeAheadLogDirectory, objectMapper,
+					writeAheadLogSegmentSize.toBytes());
+			var now = System.nanoTime();
+			writeAheadLog.recover()
+					.forEach(entry -> recovered.add(new PendingNews(entry.sequence(), entry.news(), now)));
+			recovered.forEach(pending -> unsavedSequences.add(pending.sequence()));
+			log.info("Recovered {} news from the ingest write-ahead log in {}", recovered.size(), writeAheadLogDirectory);
+		}
+
+		running = true;
+		writer = Thread.ofPlatform()
+				.name("news-ingest-writer")
+				.start(() -> drain(recovered));
+		log.info("Async ingest started, queue capacity: {}, batch size: {}", queueCapacity, batchSize);
+	}
+
+	/**
+	 * Stops accepting news and lets the writer save the queued ones within the shutdown timeout.
+	 */
+	@PreDestroy
+	public void stop() throws InterruptedException, IOException {
+		if (writer == null) {
+			return;
+		}
+		running = false;
+		writer.join(shutdownTimeout.toMillis());
+		if (writer.isAlive()) {
+			log.warn("Ingest writer did not finish within {}, {} news are left unsaved", shutdownTimeout, queue.size());
+			writer.interrupt();
+			writer.join();
+		}
+		if (writeAheadLog != null) {
+			writeAheadLog.close();
+		}
+	}
+
+	/**
+	 * Accepts a validated news to be saved by the writer. With the write-ahead log the news is queued and
+	 * the call returns once the news is on disk; when it can not be forced, the news is not saved.
+	 *
+	 * @param news the news to create.
+	 * @throws IngestQueueFullException when the queue is full or no longer accepting news.
+	 */
+	public void enqueue(NewsDTO news) {
+		long sequence;
+		enqueueLock.lock();
+		try {
+			// the news being forced have their place in the queue reserved
+			if (!running || queue.size() + syncingNews >= queueCapacity) {
+				rejectedCounter.increment();
+				throw new IngestQueueFullException(queue.size());
+			}
+			if (writeAheadLog == null) {
+				queue.add(new PendingNews(0, news, System.nanoTime()));
+				return;
+			}
+			sequence = writeToWriteAheadLog(news);
+			// added under the lock, so a checkpoint after a later sequence number sees this one unsaved
+			unsavedSequences.add(sequence);
+			syncingNews++;
+		} finally {
+			enqueueLock.unlock();
+		}
+		try {
+			syncWriteAheadLog(sequence);
+			queue.add(new PendingNews(sequence, news, System.nanoTime()));
+		} catch (RuntimeException e) {
+			unsavedSequences.remove(sequence);
+			throw e;
+		} finally {
+			enqueueLock.lock();
+			try {
+				syncingNews--;
+			} finally {
+				enqueueLock.unlock();
+			}
+		}
+	}
+
+	private long writeToWriteAheadLog(NewsDTO news) {
+		try {
+			return writeAheadLog.write(news);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to append news to the ingest write-ahead log", e);
+		}
+	}
+
+	private void syncWriteAheadLog(long sequence) {
+		try {
+			writeAheadLog.sync(sequence);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to force news to the ingest write-ahead log", e);
+		}
+	}
+
+	private void drain(List<PendingNews> recovered) {
+		try {
+			for (int i = 0; i < recovered.size(); i += batchSize) {
+				if (!write(recovered.subList(i, Math.min(i + batchSize, recovered.size())))) {
+					return;
+				}
+			}
+			List<PendingNews> batch = new ArrayList<>(batchSize);
+			while (running || !queue.isEmpty()) {
+				var first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				queue.drainTo(batch, batchSize - 1);
+				if (!write(batch)) {
+					// the news after the unsaved batch stay in the write-ahead log as well
+					return;
+				}
+				batch.clear();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			log.info("Ingest writer stopped");
+		}
+	}
+
+	/**
+	 * Saves a batch in one transaction. Transient database failures are retried until the shutdown;
+	 * a batch rejected for another reason is saved news by news, so one invalid news does not drop the others.
+	 *
+	 * @return false when the batch is left unsaved by the shutdown.
+	 */
+	private boolean write(List<PendingNews> batch) throws InterruptedException {
+		var news = batch.stream()
+				.map(PendingNews::news)
+				.toList();
+		while (true) {
+			var sample = Timer.start(meterRegistry);
+			try {
+				newsService.addAll(news);
+				sample.stop(commitTimer);
+				break;
+			} catch (TransientDataAccessException | CannotCreateTransactionException e) {
+				if (!running) {
+					log.warn("Ingest writer stopped with {} unsaved news: {}", batch.size(), e.getMessage());
+					return false;
+				}
+				log.warn("Failed to save {} queued news, retrying in {}: {}", batch.size(), retryDelay, e.getMessage());
+				Thread.sleep(retryDelay.toMillis());
+			} catch (RuntimeException e) {
+				log.warn("Failed to save {} queued news in one batch, saving them one by one: {}",
+						batch.size(), e.getMessage());
+				news.forEach(this::writeOne);
+				break;
+			}
+		}
+
+		var committedNanos = System.nanoTime();
+		batch.forEach(pending -> lagTimer.record(committedNanos - pending.acceptedNanos(), TimeUnit.NANOSECONDS));
+		checkpoint(batch);
+		return true;
+	}
+
+	private void writeOne(NewsDTO news) {
+		try {
+			newsService.addOne(news);
+		} catch (RuntimeException e) {
+			droppedCounter.increment();
+			log.error("Dropped queued news {}: {}", news, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Checkpoints the log at the last news of a saved batch, or before the lowest news still unsaved when
+	 * a news accepted earlier is not saved yet.
+	 */
+	private void checkpoint(List<PendingNews> batch) {
+		if (writeAheadLog == null) {
+			return;
+		}
+		batch.forEach(pending -> unsavedSequences.remove(pending.sequence()));
+		var sequence = batch.get(batch.size() - 1).sequence();
+		var lowestUnsaved = unsavedSequences.ceiling(Long.MIN_VALUE);
+		if (lowestUnsaved != null) {
+			sequence = Math.min(sequence, lowestUnsaved - 1);
+		}
+		try {
+			writeAheadLog.checkpoint(sequence);
+		} catch (IOException e) {
+			log.error("Failed to checkpoint the ingest write-ahead log at {}: {}", sequence, e.getMessage(), e);
+		}
+	}
+}
@@ -2,10 +2,9 @@ package ua.com.zmike.server.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.sql.Timestamp;
 import lombok.Data;
 
@@ -14,8 +13,10 @@ import lombok.Data;
 @Table(schema = "news_service_schema", name = "news")
 public class News {
 
+	/**
+	 * Assigned by the {@link ua.com.zmike.server.id.SnowflakeIdGenerator} before the entry is persisted.
+	 */
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 
 	private String headline;
@@ -24,4 +25,7 @@ public class News {
 
 	@Column(name = "publication_time")
 	private Timestamp publicationTime;
+
+	@Version
+	private Long version;
 }
@@ -0,0 +1,21 @@
+package ua.com.zmike.server.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.sql.Timestamp;
+import lombok.Data;
+
+@Data
+@Entity
+@Table(schema = "news_service_schema", name = "news_hourly_count")
+public class NewsHourlyCount {
+
+	@Id
+	@Column(name = "bucket_start")
+	private Timestamp bucketStart;
+
+	@Column(name = "news_count")
+	private long newsCount;
+}
@@ -0,0 +1,19 @@
+package ua.com.zmike.server.model;
+
+import java.sql.Timestamp;
+
+/**
+ * Projection of all columns of {@link News}, read without managing the entities, used by the archival.
+ */
+public interface NewsRecord {
+
+	Long getId();
+
+	String getHeadline();
+
+	String getDescription();
+
+	Timestamp getPublicationTime();
+
+	Long getVersion();
+}
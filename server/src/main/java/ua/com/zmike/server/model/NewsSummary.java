@@ -0,0 +1,17 @@
+package ua.com.zmike.server.model;
+
+import java.sql.Timestamp;
+
+/**
+ * Projection of {@link News} without the description, used by the list endpoints.
+ */
+public interface NewsSummary {
+
+	Long getId();
+
+	String getHeadline();
+
+	Timestamp getPublicationTime();
+
+	Long getVersion();
+}
@@ -0,0 +1,24 @@
+package ua.com.zmike.server.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ua.com.zmike.server.model.NewsHourlyCount;
+
+public interface NewsHourlyCountRepository extends JpaRepository<NewsHourlyCount, Timestamp> {
+
+	List<NewsHourlyCount> findByBucketStartBetweenOrderByBucketStart(Timestamp start, Timestamp end);
+
+	@Modifying
+	@Query(value = "INSERT INTO news_hourly_count (bucket_start, news_count) VALUES (:bucketStart, :delta) "
+			+ "ON DUPLICATE KEY UPDATE news_count = news_count + :delta",
+			nativeQuery = true)
+	void increment(@Param("bucketStart") Timestamp bucketStart, @Param("delta") long delta);
+
+	@Modifying
+	@Query("DELETE FROM NewsHourlyCount c WHERE c.bucketStart < :time")
+	void deleteByBucketStartBefore(@Param("time") Timestamp time);
+}
@@ -2,12 +2,92 @@ package ua.com.zmike.server.repository;
 
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import ua.com.zmike.server.model.News;
+import ua.com.zmike.server.model.NewsRecord;
+import ua.com.zmike.server.model.NewsSummary;
 
+/**
+ * Repository of the {@link News} entities.
+ * <p>
+ * The range reads are called by the news service without a transaction of its own, so reads answered by
+ * the hot window do not check out a connection. Declared query methods get no transaction from Spring Data,
+ * so these are marked read-only here: a miss is then routed to the replica instead of the primary.
+ */
 public interface NewsRepository extends JpaRepository<News, Long> {
 
+	@Transactional(readOnly = true)
 	List<News> findByPublicationTimeBetween(Timestamp start, Timestamp end);
 
-	void deleteByPublicationTimeBefore(Timestamp timeBefore);
+	@Query("SELECT n.id AS id, n.headline AS headline, n.publicationTime AS publicationTime, n.version AS version FROM News n "
+			+ "WHERE n.publicationTime BETWEEN :start AND :end")
+	@Transactional(readOnly = true)
+	List<NewsSummary> findSummariesByPublicationTimeBetween(@Param("start") Timestamp start, @Param("end") Timestamp end);
+
+	@Query("SELECT n.id AS id, n.headline AS headline, n.publicationTime AS publicationTime, n.version AS version FROM News n "
+			+ "WHERE n.publicationTime BETWEEN :start AND :end AND (n.publicationTime > :afterTime "
+			+ "OR (n.publicationTime = :afterTime AND n.id > :afterId)) "
+			+ "ORDER BY n.publicationTime, n.id")
+	@Transactional(readOnly = true)
+	List<NewsSummary> findSummaryPageByPublicationTimeBetween(@Param("start") Timestamp start, @Param("end") Timestamp end,
+															  @Param("afterTime") Timestamp afterTime,
+															  @Param("afterId") long afterId, Pageable pageable);
+
+	@Modifying
+	@Query("UPDATE News n SET n.headline = :headline, n.description = :description, "
+			+ "n.publicationTime = :publicationTime, n.version = n.version + 1 "
+			+ "WHERE n.id = :id AND n.version = :version")
+	int updateIfVersionMatches(@Param("id") Long id, @Param("version") long version,
+							   @Param("headline") String headline, @Param("description") String description,
+							   @Param("publicationTime") Timestamp publicationTime);
+
+	@Modifying
+	@Query("UPDATE News n SET n.headline = COALESCE(:headline, n.headline), "
+			+ "n.description = COALESCE(:description, n.description), "
+			+ "n.publicationTime = COALESCE(:publicationTime, n.publicationTime), n.version = n.version + 1 "
+			+ "WHERE n.id IN :ids")
+	int updateAllByIdIn(@Param("ids") List<Long> ids, @Param("headline") String headline,
+						@Param("description") String description, @Param("publicationTime") Timestamp publicationTime);
+
+	@Modifying
+	@Query("DELETE FROM News n WHERE n.id IN :ids")
+	int deleteAllByIdIn(@Param("ids") List<Long> ids);
+
+	@Query("SELECT n.id AS id, n.headline AS headline, n.publicationTime AS publicationTime, n.version AS version FROM News n "
+			+ "WHERE n.id IN :ids")
+	List<NewsSummary> findSummariesByIdIn(@Param("ids") List<Long> ids);
+
+	@Query("SELECT MAX(n.id) FROM News n")
+	Optional<Long> findMaxId();
+
+	@Query("SELECT n.publicationTime FROM News n WHERE n.id = :id")
+	Optional<Timestamp> findPublicationTimeById(@Param("id") Long id);
+
+	List<News> findByPublicationTimeGreaterThanEqual(Timestamp start);
+
+	@Query("SELECT n.id AS id, n.headline AS headline, n.description AS description, "
+			+ "n.publicationTime AS publicationTime, n.version AS version FROM News n "
+			+ "WHERE n.publicationTime < :time AND (n.publicationTime > :afterTime "
+			+ "OR (n.publicationTime = :afterTime AND n.id > :afterId)) "
+			+ "ORDER BY n.publicationTime, n.id")
+	List<NewsRecord> findRecordsBefore(@Param("time") Timestamp time, @Param("afterTime") Timestamp afterTime,
+									   @Param("afterId") long afterId, Pageable pageable);
+
+	@Modifying
+	@Query("DELETE FROM News n WHERE n.publicationTime < :time")
+	int deleteByPublicationTimeBefore(@Param("time") Timestamp timeBefore);
+
+	long countByPublicationTimeGreaterThanEqualAndPublicationTimeLessThan(Timestamp start, Timestamp end);
+
+	@Query(value = "SELECT * FROM news "
+			+ "WHERE MATCH(headline, description) AGAINST (:query IN NATURAL LANGUAGE MODE) "
+			+ "ORDER BY MATCH(headline, description) AGAINST (:query IN NATURAL LANGUAGE MODE) DESC, id DESC",
+			nativeQuery = true)
+	List<News> searchByText(@Param("query") String query, Pageable pageable);
 }
@@ -0,0 +1,22 @@
+package ua.com.zmike.server.service;
+
+import java.sql.Timestamp;
+import java.util.List;
+import ua.com.zmike.server.dto.AggregationBucket;
+import ua.com.zmike.server.dto.NewsCountDTO;
+
+public interface NewsAggregationService {
+
+	List<NewsCountDTO> countByPublicationTime(Timestamp start, Timestamp end, AggregationBucket bucket);
+
+	void onNewsAdded(Timestamp publicationTime);
+
+	void onNewsAdded(List<Timestamp> publicationTimes);
+
+	void onNewsRemoved(Timestamp publicationTime);
+
+	void onNewsRemoved(List<Timestamp> publicationTimes);
+
+	void onNewsRemovedBefore(Timestamp time);
+
+}
@@ -1,21 +1,42 @@
 package ua.com.zmike.server.service;
 
 import java.sql.Timestamp;
+import java.util.List;
 import java.util.Set;
 import ua.com.zmike.server.dto.NewsDTO;
+import ua.com.zmike.server.dto.NewsPatchDTO;
 
 public interface NewsService {
 
 	Set<NewsDTO> findByPublicationTimeBetween(Timestamp start, Timestamp end);
 
+	Set<NewsDTO> findSummariesByPublicationTimeBetween(Timestamp start, Timestamp end);
+
+	List<NewsDTO> findSummaryPageByPublicationTimeBetween(Timestamp start, Timestamp end, Timestamp afterTime, Long afterId,
+													   int size);
+
+	List<NewsDTO> findArchivedByPublicationTimeBetween(Timestamp start, Timestamp end);
+
+	List<NewsDTO> searchByText(String query, int page, int size);
+
 	NewsDTO getOneById(Long id);
 
 	NewsDTO addOne(NewsDTO product);
 
+	List<NewsDTO> addAll(List<NewsDTO> news);
+
 	NewsDTO updateOne(Long id, NewsDTO product);
 
+	NewsDTO updateOneIfMatch(Long id, long expectedVersion, NewsDTO product);
+
+	NewsDTO patchOne(Long id, NewsPatchDTO patch);
+
+	int updateAllByIds(List<Long> ids, NewsPatchDTO patch);
+
 	void deleteOneById(Long id);
 
+	int deleteAllByIds(List<Long> ids);
+
 	void deleteBeforeTime(Timestamp endTime);
 
 }
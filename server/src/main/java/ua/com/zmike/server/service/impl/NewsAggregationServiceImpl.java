@@ -0,0 +1,133 @@
+package ua.com.zmike.server.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ua.com.zmike.server.dto.AggregationBucket;
+import ua.com.zmike.server.dto.NewsCountDTO;
+import ua.com.zmike.server.repository.NewsHourlyCountRepository;
+import ua.com.zmike.server.repository.NewsRepository;
+import ua.com.zmike.server.service.NewsAggregationService;
+
+/**
+ * Implementation of the {@link NewsAggregationService} interface.
+ * Keeps an hourly rollup of the news volume in sync with the news table,
+ * so the aggregates are served without scanning the news rows.
+ * Coarser buckets are folded from the hourly rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NewsAggregationServiceImpl implements NewsAggregationService {
+
+	private final NewsHourlyCountRepository hourlyCountRepository;
+	private final NewsRepository newsRepository;
+
+	/**
+	 * Counts news per bucket for the hours that intersect the given range.
+	 * Buckets without news are omitted.
+	 *
+	 * @param start  The start timestamp of the range.
+	 * @param end    The end timestamp of the range.
+	 * @param bucket The granularity of the result.
+	 * @return A list of {@link NewsCountDTO} ordered by the bucket start.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<NewsCountDTO> countByPublicationTime(Timestamp start, Timestamp end, AggregationBucket bucket) {
+		Map<LocalDateTime, Long> counts = new LinkedHashMap<>();
+		hourlyCountRepository.findByBucketStartBetweenOrderByBucketStart(toHourBucket(start), end).stream()
+				.filter(hourlyCount -> hourlyCount.getNewsCount() > 0)
+				.forEach(hourlyCount -> counts.merge(
+						bucket.bucketStart(hourlyCount.getBucketStart().toLocalDateTime()),
+						hourlyCount.getNewsCount(),
+						Long::sum));
+
+		return counts.entrySet().stream()
+				.map(entry -> NewsCountDTO.builder()
+						.bucketStart(entry.getKey())
+						.count(entry.getValue())
+						.build())
+				.toList();
+	}
+
+	/**
+	 * Increments the count of the hour the added news belongs to.
+	 *
+	 * @param publicationTime The publication time of the added news.
+	 */
+	@Override
+	@Transactional
+	public void onNewsAdded(Timestamp publicationTime) {
+		hourlyCountRepository.increment(toHourBucket(publicationTime), 1);
+	}
+
+	/**
+	 * Increments the counts of the hours the added news belong to, with one statement per hour.
+	 *
+	 * @param publicationTimes The publication times of the added news.
+	 */
+	@Override
+	@Transactional
+	public void onNewsAdded(List<Timestamp> publicationTimes) {
+		countByHour(publicationTimes).forEach(hourlyCountRepository::increment);
+	}
+
+	/**
+	 * Decrements the count of the hour the removed news belongs to.
+	 *
+	 * @param publicationTime The publication time of the removed news.
+	 */
+	@Override
+	@Transactional
+	public void onNewsRemoved(Timestamp publicationTime) {
+		hourlyCountRepository.increment(toHourBucket(publicationTime), -1);
+	}
+
+	/**
+	 * Decrements the counts of the hours the removed news belong to, with one statement per hour.
+	 *
+	 * @param publicationTimes The publication times of the removed news.
+	 */
+	@Override
+	@Transactional
+	public void onNewsRemoved(List<Timestamp> publicationTimes) {
+		countByHour(publicationTimes).forEach((hourBucket, count) -> hourlyCountRepository.increment(hourBucket, -count));
+	}
+
+	/**
+	 * Drops the counts of the hours before the given time.
+	 * Must be called before the news are deleted, as the hour containing the given time
+	 * is only partially removed and is decremented by the count of its affected news.
+	 *
+	 * @param time The timestamp before which all news are removed.
+	 */
+	@Override
+	@Transactional
+	public void onNewsRemovedBefore(Timestamp time) {
+		var hourBucket = toHourBucket(time);
+		var removedInHour = newsRepository.countByPublicationTimeGreaterThanEqualAndPublicationTimeLessThan(hourBucket, time);
+		if (removedInHour > 0) {
+			hourlyCountRepository.increment(hourBucket, -removedInHour);
+		}
+		hourlyCountRepository.deleteByBucketStartBefore(hourBucket);
+		log.debug("Dropped hourly counts before {}, decremented {} news in the hour of {}", hourBucket, removedInHour, time);
+	}
+
+	private Map<Timestamp, Long> countByHour(List<Timestamp> publicationTimes) {
+		return publicationTimes.stream()
+				.collect(Collectors.groupingBy(this::toHourBucket, Collectors.counting()));
+	}
+
+	private Timestamp toHourBucket(Timestamp time) {
+		return Timestamp.valueOf(time.toLocalDateTime().truncatedTo(ChronoUnit.HOURS));
+	}
+}
@@ -1,34 +1,92 @@
 package ua.com.zmike.server.service.impl;
 
-import jakarta.transaction.Transactional;
 import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ua.com.zmike.server.archive.NewsArchive;
+import ua.com.zmike.server.cache.NewsHotWindow;
 import ua.com.zmike.server.converter.DtoConverter;
 import ua.com.zmike.server.dto.NewsDTO;
+import ua.com.zmike.server.dto.NewsPatchDTO;
+import ua.com.zmike.server.exception.PreconditionFailedException;
 import ua.com.zmike.server.exception.TargetNotFoundException;
+import ua.com.zmike.server.fingerprint.NearDuplicateIndex;
+import ua.com.zmike.server.fingerprint.SimHash;
+import ua.com.zmike.server.id.SnowflakeIdGenerator;
 import ua.com.zmike.server.model.News;
+import ua.com.zmike.server.model.NewsRecord;
+import ua.com.zmike.server.model.NewsSummary;
 import ua.com.zmike.server.repository.NewsRepository;
+import ua.com.zmike.server.service.NewsAggregationService;
 import ua.com.zmike.server.service.NewsService;
 
 /**
  * Implementation of the {@link NewsService} interface.
  * This service provides CRUD operations and custom logic for managing {@link News} entities.
  * Uses {@link DtoConverter} to convert between {@link NewsDTO} and {@link News} entities.
+ * Keeps the news volume aggregates of {@link NewsAggregationService} in sync with every write.
+ * Detects republished stories with the {@link NearDuplicateIndex} and merges them into the original entry.
+ * Reads of recent news are answered by the {@link NewsHotWindow}, which is updated once the writes are committed.
+ * These reads open no transaction here; on a miss, the query runs in the read-only transaction declared on
+ * its {@link NewsRepository} method, or of {@code findById}, and is routed like any other read-only transaction.
+ * News removed by the retention are kept in the {@link NewsArchive}.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class NewsServiceImpl implements NewsService {
 
+	private static final int BULK_BATCH_SIZE = 1000;
+	private static final int ARCHIVE_BATCH_SIZE = 5000;
+
 	private final DtoConverter<NewsDTO, News> converter;
 	private final NewsRepository newsRepository;
+	private final NewsAggregationService aggregationService;
+	private final NearDuplicateIndex nearDuplicateIndex;
+	private final NewsHotWindow hotWindow;
+	private final NewsArchive archive;
+	private final SnowflakeIdGenerator idGenerator;
+
+	@Value("${news.near-duplicate.enabled}")
+	private boolean nearDuplicateDetectionEnabled;
+
+	@Value("${news.near-duplicate.window}")
+	private Duration nearDuplicateWindow;
+
+	/**
+	 * Fills the {@link NearDuplicateIndex} with the news published within the near-duplicate window,
+	 * so republished stories are detected right after a restart.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUpNearDuplicateIndex() {
+		if (!nearDuplicateDetectionEnabled) {
+			return;
+		}
+		var windowStart = new Timestamp(System.currentTimeMillis() - nearDuplicateWindow.toMillis());
+		var recentNews = newsRepository.findByPublicationTimeGreaterThanEqual(windowStart);
+		recentNews.forEach(this::indexFingerprint);
+		log.info("Near-duplicate index warmed up with {} news published after {}", recentNews.size(), windowStart);
+	}
 
 	/**
 	 * Finds all news published between the given start and end {@link Timestamp}.
+	 * Ranges within the {@link NewsHotWindow} are answered without querying the database.
 	 *
 	 * @param start The start timestamp for the search range.
 	 * @param end   The end timestamp for the search range.
@@ -36,26 +94,163 @@ public class NewsServiceImpl implements NewsService {
 	 */
 	@Override
 	public Set<NewsDTO> findByPublicationTimeBetween(Timestamp start, Timestamp end) {
+		if (hotWindow.covers(start)) {
+			return new HashSet<>(hotWindow.findBetween(start, end));
+		}
 		return newsRepository.findByPublicationTimeBetween(start, end).stream()
 				.map(converter::convertToDto)
 				.collect(Collectors.toSet());
 	}
 
+	/**
+	 * Finds the summaries of all news published between the given start and end {@link Timestamp}.
+	 * The description is not selected from the database and is left empty in the result.
+	 * Ranges within the {@link NewsHotWindow} are answered without querying the database.
+	 *
+	 * @param start The start timestamp for the search range.
+	 * @param end   The end timestamp for the search range.
+	 * @return A set of {@link NewsDTO} objects without description matching the publication time range.
+	 */
+	@Override
+	public Set<NewsDTO> findSummariesByPublicationTimeBetween(Timestamp start, Timestamp end) {
+		if (hotWindow.covers(start)) {
+			return hotWindow.findBetween(start, end).stream()
+					.map(this::summaryOf)
+					.collect(Collectors.toSet());
+		}
+		return newsRepository.findSummariesByPublicationTimeBetween(start, end).stream()
+				.map(this::summaryOf)
+				.collect(Collectors.toSet());
+	}
+
+	/**
+	 * Finds one page of the summaries of the news published between the given start and end {@link Timestamp},
+	 * ordered by publication time and ID, so consecutive pages can be appended to each other.
+	 * A page continues after the last entry of the previous one (keyset paging), so the cost of a page
+	 * does not grow with its position and news added to the range meanwhile neither repeat nor skip entries.
+	 * Ranges within the {@link NewsHotWindow} are answered without querying the database.
+	 *
+	 * @param start     The start timestamp for the search range.
+	 * @param end       The end timestamp for the search range.
+	 * @param afterTime The publication time of the last entry of the previous page, or null for the first page.
+	 * @param afterId   The ID of the last entry of the previous page, or null for the first page.
+	 * @param size      The page size.
+	 * @return A list of {@link NewsDTO} objects without description for the requested page.
+	 */
+	@Override
+	public List<NewsDTO> findSummaryPageByPublicationTimeBetween(Timestamp start, Timestamp end, Timestamp afterTime,
+																 Long afterId, int size) {
+		var firstPage = afterTime == null || afterId == null || afterTime.before(start);
+		var fromTime = firstPage ? start : afterTime;
+		var fromId = firstPage ? Long.MIN_VALUE : afterId;
+		if (hotWindow.covers(start)) {
+			return hotWindow.findAfter(fromTime, fromId, end, size).stream()
+					.map(this::summaryOf)
+					.toList();
+		}
+		return newsRepository.findSummaryPageByPublicationTimeBetween(start, end, fromTime, fromId, PageRequest.of(0, size))
+				.stream()
+				.map(this::summaryOf)
+				.toList();
+	}
+
+	/**
+	 * Searches news by the words of their headline and description using the full-text index.
+	 * Results are ordered by relevance, the most relevant first.
+	 *
+	 * @param query The search phrase.
+	 * @param page  The zero-based page index.
+	 * @param size  The page size.
+	 * @return A list of {@link NewsDTO} objects for the requested page.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<NewsDTO> searchByText(String query, int page, int size) {
+		return newsRepository.searchByText(query, PageRequest.of(page, size)).stream()
+				.map(converter::convertToDto)
+				.toList();
+	}
+
 	/**
 	 * Adds a new news entry.
+	 * When near-duplicate detection is enabled and a close enough story was published within the window,
+	 * the existing entry takes the headline and description of the new revision instead of a new entry being added.
 	 *
 	 * @param newsDto The DTO representing the news to be added.
-	 * @return The DTO of the saved news entry.
+	 * @return The DTO of the saved news entry, or of the existing entry it was merged into.
 	 */
 	@Override
 	@Transactional
 	public NewsDTO addOne(NewsDTO newsDto) {
+		List<Timestamp> addedTimes = new ArrayList<>(1);
+		var savedNews = add(newsDto, addedTimes);
+		aggregationService.onNewsAdded(addedTimes);
+		newsRepository.flush();
+		return converter.convertToDto(savedNews);
+	}
+
+	/**
+	 * Adds news entries in a single transaction, merging near-duplicates like {@link #addOne(NewsDTO)}.
+	 * The IDs are assigned before the entries are persisted, so the inserts are sent in JDBC batches at the commit;
+	 * the hourly counts are updated once for all entries, since their native statement would flush the inserts.
+	 * Entries merged into near-duplicates are flushed with the inserts as well, and the DTOs are built after
+	 * that flush, so they carry the incremented versions of the merged entries.
+	 *
+	 * @param news The DTOs representing the news to be added.
+	 * @return The DTOs of the saved news entries, or of the existing entries they were merged into, in the same order.
+	 */
+	@Override
+	@Transactional
+	public List<NewsDTO> addAll(List<NewsDTO> news) {
+		List<Timestamp> addedTimes = new ArrayList<>(news.size());
+		var savedNews = news.stream()
+				.map(newsDto -> add(newsDto, addedTimes))
+				.toList();
+		aggregationService.onNewsAdded(addedTimes);
+		newsRepository.flush();
+		return savedNews.stream()
+				.map(converter::convertToDto)
+				.toList();
+	}
+
+	/**
+	 * Adds a news entry, or merges it into its near-duplicate, without updating the hourly counts.
+	 * The entry gets a new {@link SnowflakeIdGenerator} ID; it has no version yet, so it is persisted without a select.
+	 * Its fingerprint is looked up and indexed in one step, so a near-duplicate added at the same time finds it;
+	 * one found before the entry is committed is not merged but added as well.
+	 *
+	 * @param newsDto    The DTO representing the news to be added.
+	 * @param addedTimes Collects the publication time of the entry when it is added.
+	 * @return The saved news entry, or the existing entry it was merged into; the latter is not flushed yet.
+	 */
+	private News add(NewsDTO newsDto, List<Timestamp> addedTimes) {
 		var news = converter.convertFromDto(newsDto);
-		return converter.convertToDto(newsRepository.save(news));
+		news.setId(idGenerator.nextId());
+
+		if (nearDuplicateDetectionEnabled) {
+			var fingerprint = fingerprint(news);
+			var publicationTime = news.getPublicationTime().getTime();
+			var duplicateId = nearDuplicateIndex.findOrAdd(news.getId(), fingerprint, publicationTime);
+			if (duplicateId != NearDuplicateIndex.NO_MATCH) {
+				var mergedNews = newsRepository.findById(duplicateId)
+						.map(existingNews -> mergeNearDuplicate(existingNews, news, fingerprint));
+				if (mergedNews.isPresent()) {
+					return mergedNews.get();
+				}
+				// the duplicate is deleted or not committed yet
+				nearDuplicateIndex.add(news.getId(), fingerprint, publicationTime);
+			}
+		}
+
+		news.setVersion(null);
+		var savedNews = newsRepository.save(news);
+		addedTimes.add(savedNews.getPublicationTime());
+		afterCommit(() -> hotWindow.put(savedNews));
+		return savedNews;
 	}
 
 	/**
-	 * Retrieves a single news entry by its ID.
+	 * Retrieves a single news entry by its ID, from the {@link NewsHotWindow} when it holds the entry.
 	 *
 	 * @param id The ID of the news entry to retrieve.
 	 * @return The DTO of the found news entry.
@@ -63,11 +258,13 @@ public class NewsServiceImpl implements NewsService {
 	 */
 	@Override
 	public NewsDTO getOneById(Long id) {
-		return converter.convertToDto(getExistingNewsById(id));
+		return hotWindow.findById(id)
+				.orElseGet(() -> converter.convertToDto(getExistingNewsById(id)));
 	}
 
 	/**
 	 * Updates an existing news entry by its ID.
+	 * Concurrent updates of the same entry are detected by its version and fail instead of overwriting each other.
 	 *
 	 * @param id      The ID of the news entry to update.
 	 * @param newsDto The DTO containing the updated information.
@@ -77,11 +274,97 @@ public class NewsServiceImpl implements NewsService {
 	@Override
 	@Transactional
 	public NewsDTO updateOne(Long id, NewsDTO newsDto) {
+		return update(getExistingNewsById(id), newsDto.getHeadline(), newsDto.getDescription(),
+				Timestamp.valueOf(newsDto.getPublicationTime()));
+	}
+
+	/**
+	 * Updates the fields of an existing news entry that are set in the patch, keeping the others.
+	 *
+	 * @param id    The ID of the news entry to update.
+	 * @param patch The fields to change.
+	 * @return The DTO of the updated news entry.
+	 * @throws TargetNotFoundException if no news with the given ID is found.
+	 */
+	@Override
+	@Transactional
+	public NewsDTO patchOne(Long id, NewsPatchDTO patch) {
 		var news = getExistingNewsById(id);
-		news.setHeadline(newsDto.getHeadline());
-		news.setDescription(newsDto.getDescription());
-		news.setPublicationTime(Timestamp.valueOf(newsDto.getPublicationTime()));
-		return converter.convertToDto(newsRepository.save(news));
+		return update(news,
+				Objects.requireNonNullElse(patch.getHeadline(), news.getHeadline()),
+				Objects.requireNonNullElse(patch.getDescription(), news.getDescription()),
+				Objects.isNull(patch.getPublicationTime())
+						? news.getPublicationTime()
+						: Timestamp.valueOf(patch.getPublicationTime()));
+	}
+
+	/**
+	 * Applies the same patch to many news entries with one set-based UPDATE statement per batch of IDs.
+	 * Unknown IDs are skipped.
+	 *
+	 * @param ids   The IDs of the news entries to update.
+	 * @param patch The fields to change.
+	 * @return The number of updated news entries.
+	 */
+	@Override
+	@Transactional
+	public int updateAllByIds(List<Long> ids, NewsPatchDTO patch) {
+		var publicationTime = Objects.isNull(patch.getPublicationTime()) ? null : Timestamp.valueOf(patch.getPublicationTime());
+		var updated = 0;
+
+		for (List<Long> batch : batches(ids)) {
+			var previousNews = newsRepository.findAllById(batch);
+			updated += newsRepository.updateAllByIdIn(batch, patch.getHeadline(), patch.getDescription(), publicationTime);
+
+			var patchedNews = previousNews.stream()
+					.map(news -> patchedCopy(news, patch.getHeadline(), patch.getDescription(), publicationTime))
+					.toList();
+			if (!Objects.isNull(publicationTime)) {
+				aggregationService.onNewsRemoved(previousNews.stream().map(News::getPublicationTime).toList());
+				aggregationService.onNewsAdded(Collections.nCopies(patchedNews.size(), publicationTime));
+			}
+			afterCommit(() -> patchedNews.forEach(hotWindow::put));
+		}
+		log.info("Bulk updated {} of {} news", updated, ids.size());
+		return updated;
+	}
+
+	/**
+	 * Updates an existing news entry by its ID only if it still has the expected version,
+	 * with a single conditional UPDATE statement instead of reading the entry first.
+	 * The previous publication time, needed by the aggregates, is taken from the {@link NewsHotWindow}
+	 * and only selected from the database for entries outside the window.
+	 *
+	 * @param id              The ID of the news entry to update.
+	 * @param expectedVersion The version the client has read the entry with.
+	 * @param newsDto         The DTO containing the updated information.
+	 * @return The DTO of the updated news entry with its new version.
+	 * @throws TargetNotFoundException     if no news with the given ID is found.
+	 * @throws PreconditionFailedException if the entry has been changed since the expected version.
+	 */
+	@Override
+	@Transactional
+	public NewsDTO updateOneIfMatch(Long id, long expectedVersion, NewsDTO newsDto) {
+		var previousPublicationTime = hotWindow.findById(id)
+				.map(news -> Timestamp.valueOf(news.getPublicationTime()))
+				.or(() -> newsRepository.findPublicationTimeById(id))
+				.orElseThrow(() -> new TargetNotFoundException("News", "id", id));
+
+		var news = converter.convertFromDto(newsDto);
+		news.setId(id);
+		var updated = newsRepository.updateIfVersionMatches(id, expectedVersion,
+				news.getHeadline(), news.getDescription(), news.getPublicationTime());
+		if (updated == 0) {
+			throw new PreconditionFailedException("News", id, expectedVersion);
+		}
+		news.setVersion(expectedVersion + 1);
+
+		if (!previousPublicationTime.equals(news.getPublicationTime())) {
+			aggregationService.onNewsRemoved(previousPublicationTime);
+			aggregationService.onNewsAdded(news.getPublicationTime());
+		}
+		afterCommit(() -> hotWindow.put(news));
+		return converter.convertToDto(news);
 	}
 
 	/**
@@ -92,18 +375,202 @@ public class NewsServiceImpl implements NewsService {
 	@Override
 	@Transactional
 	public void deleteOneById(Long id) {
-		newsRepository.deleteById(id);
+		newsRepository.findById(id).ifPresent(news -> {
+			newsRepository.delete(news);
+			aggregationService.onNewsRemoved(news.getPublicationTime());
+			afterCommit(() -> hotWindow.remove(id));
+		});
+	}
+
+	/**
+	 * Deletes many news entries with one set-based DELETE statement per batch of IDs.
+	 * Unknown IDs are skipped.
+	 *
+	 * @param ids The IDs of the news entries to delete.
+	 * @return The number of deleted news entries.
+	 */
+	@Override
+	@Transactional
+	public int deleteAllByIds(List<Long> ids) {
+		var deleted = 0;
+
+		for (List<Long> batch : batches(ids)) {
+			var publicationTimes = newsRepository.findSummariesByIdIn(batch).stream()
+					.map(NewsSummary::getPublicationTime)
+					.toList();
+			deleted += newsRepository.deleteAllByIdIn(batch);
+			aggregationService.onNewsRemoved(publicationTimes);
+			afterCommit(() -> batch.forEach(hotWindow::remove));
+		}
+		log.info("Bulk deleted {} of {} news", deleted, ids.size());
+		return deleted;
 	}
 
 	/**
 	 * Deletes all news entries published before a given timestamp.
+	 * With the {@link NewsArchive} enabled, the entries are read in keyset-ordered pages and every page is
+	 * written to the archive and then deleted by its IDs, so only archived rows are deleted: a row inserted
+	 * or moved before the timestamp while the pages are read is left for the next run. Otherwise a single
+	 * bulk delete removes them.
 	 *
 	 * @param time The timestamp before which all news should be deleted.
 	 */
 	@Override
 	@Transactional
 	public void deleteBeforeTime(Timestamp time) {
-		newsRepository.deleteByPublicationTimeBefore(time);
+		if (archive.isEnabled()) {
+			archiveAndDeleteBefore(time);
+			return;
+		}
+		aggregationService.onNewsRemovedBefore(time);
+		var deleted = newsRepository.deleteByPublicationTimeBefore(time);
+		afterCommit(() -> hotWindow.removeBefore(time));
+		log.info("Deleted {} news published before {}", deleted, time);
+	}
+
+	/**
+	 * Retrieves archived news entries published between the specified start and end times, both inclusive.
+	 *
+	 * @param start The start timestamp.
+	 * @param end   The end timestamp.
+	 * @return A list of archived news DTOs ordered by publication time.
+	 */
+	@Override
+	public List<NewsDTO> findArchivedByPublicationTimeBetween(Timestamp start, Timestamp end) {
+		return archive.findBetween(start, end);
+	}
+
+	private void archiveAndDeleteBefore(Timestamp time) {
+		var afterTime = new Timestamp(0);
+		var afterId = Long.MIN_VALUE;
+		var deleted = 0;
+		List<NewsRecord> page;
+		do {
+			page = newsRepository.findRecordsBefore(time, afterTime, afterId, PageRequest.of(0, ARCHIVE_BATCH_SIZE));
+			if (page.isEmpty()) {
+				break;
+			}
+			archive.append(page);
+			var ids = page.stream().map(NewsRecord::getId).toList();
+			deleted += newsRepository.deleteAllByIdIn(ids);
+			aggregationService.onNewsRemoved(page.stream().map(NewsRecord::getPublicationTime).toList());
+			afterCommit(() -> ids.forEach(hotWindow::remove));
+			var last = page.get(page.size() - 1);
+			afterTime = last.getPublicationTime();
+			afterId = last.getId();
+		} while (page.size() == ARCHIVE_BATCH_SIZE);
+		log.info("Archived and deleted {} news published before {}", deleted, time);
+	}
+
+	/**
+	 * Sets the given fields of a loaded news entry and keeps the aggregates and the hot window in sync.
+	 *
+	 * @param news            The loaded news entry.
+	 * @param headline        The new headline.
+	 * @param description     The new description.
+	 * @param publicationTime The new publication time.
+	 * @return The DTO of the updated news entry.
+	 */
+	private NewsDTO update(News news, String headline, String description, Timestamp publicationTime) {
+		var previousPublicationTime = news.getPublicationTime();
+		news.setHeadline(headline);
+		news.setDescription(description);
+		news.setPublicationTime(publicationTime);
+		var updatedNews = newsRepository.saveAndFlush(news);
+
+		if (!previousPublicationTime.equals(updatedNews.getPublicationTime())) {
+			aggregationService.onNewsRemoved(previousPublicationTime);
+			aggregationService.onNewsAdded(updatedNews.getPublicationTime());
+		}
+		afterCommit(() -> hotWindow.put(updatedNews));
+		return converter.convertToDto(updatedNews);
+	}
+
+	/**
+	 * Creates a detached copy of a news entry as it is after a bulk update, the {@code null} fields are kept.
+	 */
+	private News patchedCopy(News news, String headline, String description, Timestamp publicationTime) {
+		var copy = new News();
+		copy.setId(news.getId());
+		copy.setHeadline(Objects.requireNonNullElse(headline, news.getHeadline()));
+		copy.setDescription(Objects.requireNonNullElse(description, news.getDescription()));
+		copy.setPublicationTime(Objects.requireNonNullElse(publicationTime, news.getPublicationTime()));
+		copy.setVersion(news.getVersion() + 1);
+		return copy;
+	}
+
+	private List<List<Long>> batches(List<Long> ids) {
+		var distinctIds = ids.stream().distinct().toList();
+		List<List<Long>> batches = new ArrayList<>();
+		for (int from = 0; from < distinctIds.size(); from += BULK_BATCH_SIZE) {
+			batches.add(distinctIds.subList(from, Math.min(from + BULK_BATCH_SIZE, distinctIds.size())));
+		}
+		return batches;
+	}
+
+	/**
+	 * Updates an existing news entry with the text of its near-duplicate revision.
+	 * The publication time of the existing entry is kept. The entry is not flushed here, so a merge in the middle
+	 * of {@link #addAll(List)} does not send the inserts queued before it ahead of their JDBC batch.
+	 *
+	 * @param existingNews The news entry already stored.
+	 * @param revision     The near-duplicate revision of the entry.
+	 * @param fingerprint  The fingerprint of the revision.
+	 * @return The updated {@link News} entity.
+	 */
+	private News mergeNearDuplicate(News existingNews, News revision, long fingerprint) {
+		log.info("Merging near-duplicate news '{}' into existing news with id: {}", revision.getHeadline(), existingNews.getId());
+		existingNews.setHeadline(revision.getHeadline());
+		existingNews.setDescription(revision.getDescription());
+		var mergedNews = newsRepository.save(existingNews);
+		nearDuplicateIndex.add(mergedNews.getId(), fingerprint, mergedNews.getPublicationTime().getTime());
+		afterCommit(() -> hotWindow.put(mergedNews));
+		return mergedNews;
+	}
+
+	private NewsDTO summaryOf(NewsDTO news) {
+		return NewsDTO.builder()
+				.id(news.getId())
+				.headline(news.getHeadline())
+				.publicationTime(news.getPublicationTime())
+				.version(news.getVersion())
+				.build();
+	}
+
+	private NewsDTO summaryOf(NewsSummary summary) {
+		return NewsDTO.builder()
+				.id(summary.getId())
+				.headline(summary.getHeadline())
+				.publicationTime(summary.getPublicationTime().toLocalDateTime())
+				.version(summary.getVersion())
+				.build();
+	}
+
+	/**
+	 * Runs the given action once the current transaction is committed, or right away outside a transaction.
+	 * In-memory state is updated this way, so it never shows writes that were rolled back.
+	 *
+	 * @param action The action to run.
+	 */
+	private void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			action.run();
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	private void indexFingerprint(News news) {
+		nearDuplicateIndex.add(news.getId(), fingerprint(news), news.getPublicationTime().getTime());
+	}
+
+	private long fingerprint(News news) {
+		return SimHash.of(news.getHeadline(), news.getDescription());
 	}
 
 	/**
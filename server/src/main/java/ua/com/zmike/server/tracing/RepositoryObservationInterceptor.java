@@ -0,0 +1,34 @@
+package ua.com.zmike.server.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Observes every call of a Spring Data repository method, so the query time, including the Hibernate
+ * and JDBC work, shows up as a "news.repository" span (e.g. "NewsRepository.findByPublicationTimeBetween")
+ * under the span of the request or job that made the call.
+ */
+public class RepositoryObservationInterceptor implements MethodInterceptor {
+
+	private static final String OBSERVATION_NAME = "news.repository";
+
+	private final ObservationRegistry observationRegistry;
+	private final String repositoryName;
+
+	public RepositoryObservationInterceptor(ObservationRegistry observationRegistry, Class<?> repositoryInterface) {
+		this.observationRegistry = observationRegistry;
+		this.repositoryName = repositoryInterface.getSimpleName();
+	}
+
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+		var methodName = invocation.getMethod().getName();
+		return Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+				.contextualName(repositoryName + "." + methodName)
+				.lowCardinalityKeyValue("repository", repositoryName)
+				.lowCardinalityKeyValue("method", methodName)
+				.observeChecked(invocation::proceed);
+	}
+}
@@ -0,0 +1,2 @@
+ALTER TABLE news
+    ADD FULLTEXT INDEX ft_news_headline_description (headline, description);
@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS news_hourly_count
+(
+    bucket_start TIMESTAMP NOT NULL PRIMARY KEY,
+    news_count   BIGINT    NOT NULL
+);
+
+INSERT INTO news_hourly_count (bucket_start, news_count)
+SELECT DATE_FORMAT(publication_time, '%Y-%m-%d %H:00:00'), COUNT(*)
+FROM news
+GROUP BY DATE_FORMAT(publication_time, '%Y-%m-%d %H:00:00');
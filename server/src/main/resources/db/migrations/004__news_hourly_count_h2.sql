@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS news_hourly_count
+(
+    bucket_start TIMESTAMP NOT NULL PRIMARY KEY,
+    news_count   BIGINT    NOT NULL
+);
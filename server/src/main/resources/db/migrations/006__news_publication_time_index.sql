@@ -0,0 +1 @@
+CREATE INDEX idx_news_publication_time ON news (publication_time, id);
@@ -0,0 +1,5 @@
+-- News IDs are assigned by the application (SnowflakeIdGenerator) from now on.
+-- The existing rows keep their AUTO_INCREMENT IDs, which are far below the first generated one,
+-- so the primary key order stays the insertion order and no row has to be rewritten.
+ALTER TABLE news
+    MODIFY id BIGINT NOT NULL;
@@ -0,0 +1,115 @@
+package ua.com.zmike.standalone;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import ua.com.zmike.client.dto.NewsDTO;
+import ua.com.zmike.client.service.NewsApiService;
+import ua.com.zmike.server.exception.PreconditionFailedException;
+import ua.com.zmike.server.exception.TargetNotFoundException;
+import ua.com.zmike.server.service.NewsService;
+
+/**
+ * {@link NewsApiService} bound directly to the server's {@link NewsService} in the same JVM.
+ * <p>
+ * News are copied between the client and server DTOs instead of being serialized. Server errors are rethrown
+ * as the {@link HttpClientErrorException} the HTTP client would get for them, so the callers handle
+ * a missing entry or a failed If-Match the same way in both modes.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "client.news-api.mode", havingValue = "local")
+public class LocalNewsApiService implements NewsApiService {
+
+	private final NewsService newsService;
+
+	@Override
+	public List<NewsDTO> getNews(LocalDateTime start, LocalDateTime end) {
+		return toClient(newsService.findByPublicationTimeBetween(Timestamp.valueOf(start), Timestamp.valueOf(end)));
+	}
+
+	@Override
+	public List<NewsDTO> getNewsSummaries(LocalDateTime start, LocalDateTime end) {
+		return toClient(newsService.findSummariesByPublicationTimeBetween(Timestamp.valueOf(start), Timestamp.valueOf(end)));
+	}
+
+	@Override
+	public List<NewsDTO> getNewsSummaryPage(LocalDateTime start, LocalDateTime end, NewsDTO after, int size) {
+		return toClient(newsService.findSummaryPageByPublicationTimeBetween(Timestamp.valueOf(start), Timestamp.valueOf(end),
+				after == null ? null : Timestamp.valueOf(after.getPublicationTime()),
+				after == null ? null : after.getId(), size));
+	}
+
+	@Override
+	public NewsDTO getNewsById(Long id) {
+		return call(() -> toClient(newsService.getOneById(id)));
+	}
+
+	@Override
+	public NewsDTO createNews(NewsDTO newsDTO) {
+		return toClient(newsService.addOne(toServer(newsDTO)));
+	}
+
+	@Override
+	public NewsDTO updateNews(Long id, NewsDTO newsDTO) {
+		return call(() -> toClient(Objects.isNull(newsDTO.getVersion())
+				? newsService.updateOne(id, toServer(newsDTO))
+				: newsService.updateOneIfMatch(id, newsDTO.getVersion(), toServer(newsDTO))));
+	}
+
+	@Override
+	public void deleteNews(Long id) {
+		call(() -> {
+			newsService.deleteOneById(id);
+			return null;
+		});
+	}
+
+	@Override
+	public void deleteNewsBeforeTime(LocalDateTime beforeTime) {
+		newsService.deleteBeforeTime(Timestamp.valueOf(beforeTime));
+	}
+
+	private <T> T call(Supplier<T> action) {
+		try {
+			return action.get();
+		} catch (TargetNotFoundException e) {
+			throw HttpClientErrorException.create(HttpStatus.NOT_FOUND, e.getMessage(), HttpHeaders.EMPTY, null, null);
+		} catch (PreconditionFailedException e) {
+			throw HttpClientErrorException.create(HttpStatus.PRECONDITION_FAILED, e.getMessage(), HttpHeaders.EMPTY, null, null);
+		}
+	}
+
+	private static List<NewsDTO> toClient(Collection<ua.com.zmike.server.dto.NewsDTO> news) {
+		return news.stream()
+				.map(LocalNewsApiService::toClient)
+				.toList();
+	}
+
+	private static NewsDTO toClient(ua.com.zmike.server.dto.NewsDTO news) {
+		return NewsDTO.builder()
+				.id(news.getId())
+				.headline(news.getHeadline())
+				.description(news.getDescription())
+				.publicationTime(news.getPublicationTime())
+				.version(news.getVersion())
+				.build();
+	}
+
+	private static ua.com.zmike.server.dto.NewsDTO toServer(NewsDTO news) {
+		return ua.com.zmike.server.dto.NewsDTO.builder()
+				.headline(news.getHeadline())
+				.description(news.getDescription())
+				.publicationTime(news.getPublicationTime())
+				.build();
+	}
+}
@@ -0,0 +1,35 @@
+package ua.com.zmike.standalone;
+
+import javafx.application.Application;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import ua.com.zmike.client.ClientSpringApplication;
+import ua.com.zmike.server.ServerApplication;
+
+/**
+ * Single-node deployment: the client UI, the parser and the server run in one JVM and one Spring context,
+ * backed by an embedded H2 file database instead of MySQL.
+ * <p>
+ * The client calls the server's news service directly through {@link LocalNewsApiService}, without HTTP
+ * and serialization. The configuration is read from standalone.yml, because the application.yml files
+ * of the client and server jars would shadow each other on the shared classpath.
+ * The span exporters are configured once, by the server's tracing configuration ("news.tracing");
+ * the client's exporter ("client.tracing.exporter") is set to "none" in standalone.yml.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EnableScheduling
+@ComponentScan(basePackages = {"ua.com.zmike.server", "ua.com.zmike.client", "ua.com.zmike.standalone"},
+		excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+				classes = {ServerApplication.class, ClientSpringApplication.class}))
+public class StandaloneApplication {
+
+	static final String CONFIG_NAME = "standalone";
+
+	public static void main(String[] args) {
+		Application.launch(StandaloneFxApplication.class, args);
+	}
+}
@@ -0,0 +1,17 @@
+package ua.com.zmike.standalone;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import ua.com.zmike.client.JavaFxApplication;
+
+/**
+ * JavaFX application of the single-node deployment, its UI runs in the context of {@link StandaloneApplication}.
+ */
+public class StandaloneFxApplication extends JavaFxApplication {
+
+	@Override
+	protected SpringApplicationBuilder createApplicationBuilder() {
+		return new SpringApplicationBuilder()
+				.sources(StandaloneApplication.class)
+				.properties("spring.config.name=" + StandaloneApplication.CONFIG_NAME);
+	}
+}